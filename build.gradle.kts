@@ -2,6 +2,7 @@ plugins {
     alias(libs.plugins.java)
     alias(libs.plugins.lombok)
     alias(libs.plugins.shadow)
+    alias(libs.plugins.jmh)
 }
 
 group = "com.bruhdows"
@@ -13,4 +14,19 @@ repositories {
 
 dependencies {
     implementation(libs.adventure.text.serializer.legacy)
+
+    testImplementation(platform(libs.junit.bom))
+    testImplementation(libs.junit.jupiter)
+    testRuntimeOnly(libs.junit.platform.launcher)
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh.core.get()
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("reports/jmh/results.json")
 }
@@ -0,0 +1,39 @@
+package com.bruhdows.minitext.benchmark;
+
+import com.bruhdows.minitext.MiniText;
+
+public final class BenchmarkInputs {
+
+    private BenchmarkInputs() {}
+
+    public static MiniText miniText() {
+        return builder().build();
+    }
+
+    public static MiniText.Builder builder() {
+        return MiniText.builder()
+                .addCustomProcessor("player", (tag, content, context) -> "Notch")
+                .addCustomProcessor("var", (tag, content, context) -> content.toUpperCase());
+    }
+
+    public static String input(String kind, int size) {
+        String fragment = switch (kind) {
+            case "plain" -> "The quick brown fox jumps over the lazy dog. ";
+            case "legacy" -> "&cRed &lbold &r&7gray &athen &nunder&r ";
+            case "hex" -> "&#ff5500Orange &#0af short [#12ab34]tag [#fff]white ";
+            case "gradient" -> "[gradient:red:gold:#00ffaa]Gradient banner text [reset]";
+            case "rainbow" -> "[rainbow]Rainbow coloured words [rainbow:4]shifted [reset]";
+            case "events" -> "[hover:show_text:'Click to visit']"
+                    + "[click:open_url:'https://example.com']Link[reset] and text ";
+            case "custom" -> "Hello [player], you have [var:coins] coins ";
+            default -> throw new IllegalArgumentException("Unknown input kind: " + kind);
+        };
+
+        // Whole fragments only, so no tag is cut in half; inputs may overshoot size by one fragment
+        StringBuilder builder = new StringBuilder(size + fragment.length());
+        do {
+            builder.append(fragment);
+        } while (builder.length() < size);
+        return builder.toString();
+    }
+}
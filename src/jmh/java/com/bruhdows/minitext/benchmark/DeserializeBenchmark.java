@@ -0,0 +1,56 @@
+package com.bruhdows.minitext.benchmark;
+
+import com.bruhdows.minitext.MiniText;
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DeserializeBenchmark {
+
+    @Param({"plain", "legacy", "hex", "gradient", "rainbow", "events", "custom"})
+    public String kind;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int size;
+
+    private MiniText miniText;
+    private String input;
+
+    @Setup
+    public void setup() {
+        miniText = BenchmarkInputs.miniText();
+        input = BenchmarkInputs.input(kind, size);
+    }
+
+    @Benchmark
+    public Component component() {
+        return miniText.deserialize(input).component();
+    }
+
+    @Benchmark
+    public String legacyString() {
+        return miniText.deserialize(input).legacyString();
+    }
+
+    @Benchmark
+    public String deserializeToLegacy() {
+        return miniText.deserializeToLegacy(input);
+    }
+
+    @Benchmark
+    public String stripTags() {
+        return miniText.stripTags(input);
+    }
+
+    @Benchmark
+    public int visibleLength() {
+        return miniText.visibleLength(input);
+    }
+}
@@ -0,0 +1,60 @@
+package com.bruhdows.minitext.benchmark;
+
+import com.bruhdows.minitext.MiniText;
+import com.bruhdows.minitext.component.PoolingStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PoolingBenchmark {
+
+    @Param({"THREAD_LOCAL", "SHARED", "NONE"})
+    public PoolingStrategy pooling;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"legacy", "gradient"})
+    public String kind;
+
+    private MiniText miniText;
+    private String input;
+    private ExecutorService executor;
+
+    @Setup
+    public void setup() {
+        miniText = BenchmarkInputs.builder().pooling(pooling).build();
+        input = BenchmarkInputs.input(kind, 100);
+        executor = threads.equals("virtual") ? virtualThreadExecutor() : Executors.newFixedThreadPool(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public String deserializeToLegacy() throws ExecutionException, InterruptedException {
+        return executor.submit(() -> miniText.deserializeToLegacy(input)).get();
+    }
+
+    // Java 17 builds have no virtual threads; a thread per task shows the same pool churn there
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0, TimeUnit.NANOSECONDS, new SynchronousQueue<>());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.bruhdows.minitext;
+
+import net.kyori.adventure.text.Component;
+
+import java.util.List;
+
+public class AnimatedText {
+    private final Component[] frames;
+
+    public AnimatedText(Component[] frames) {
+        if (frames.length == 0) {
+            throw new IllegalArgumentException("Animation needs at least one frame");
+        }
+        this.frames = frames.clone();
+    }
+
+    public Component frame(long tick) {
+        return frames[Math.floorMod(tick, frames.length)];
+    }
+
+    public int frameCount() {
+        return frames.length;
+    }
+
+    public List<Component> frames() {
+        return List.of(frames);
+    }
+}
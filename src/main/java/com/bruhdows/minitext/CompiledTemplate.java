@@ -0,0 +1,163 @@
+package com.bruhdows.minitext;
+
+import com.bruhdows.minitext.component.ComponentBuilder;
+import com.bruhdows.minitext.component.ComponentSink;
+import com.bruhdows.minitext.component.TextSegment;
+import com.bruhdows.minitext.processor.ComponentProcessor;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CompiledTemplate {
+    private final MiniText miniText;
+    private final String originalInput;
+    private final List<TextSegment> segments;
+    private final ComponentBuilder componentBuilder;
+    private final List<Component> children;
+    private final List<Slot> slots;
+    private final FormattedText staticText;
+
+    public CompiledTemplate(MiniText miniText, String input, List<TextSegment> segments) {
+        this.miniText = miniText;
+        this.originalInput = input;
+        this.segments = List.copyOf(segments);
+        this.componentBuilder = miniText.getComponentBuilder();
+
+        List<Component> children = new ArrayList<>(segments.size());
+        List<Slot> slots = new ArrayList<>();
+        for (TextSegment segment : segments) {
+            if (segment.isSlot()) {
+                ComponentProcessor processor = miniText.getBracketFormatter().getProcessor(segment.slotTag());
+                boolean allowMarkup = miniText.getBracketFormatter().allowsMarkup(segment.slotTag());
+                slots.add(new Slot(children.size(), segment, processor, allowMarkup));
+            } else if (!segment.text().isEmpty()) {
+                children.add(componentBuilder.buildSegmentComponent(segment));
+            }
+        }
+        this.children = List.copyOf(children);
+        this.slots = List.copyOf(slots);
+        this.staticText = this.slots.isEmpty()
+                ? new FormattedText(input, miniText.warmSerialization(renderComponent(null, false)))
+                : null;
+    }
+
+    public FormattedText render() {
+        return render(null);
+    }
+
+    public FormattedText render(Object context) {
+        if (staticText != null) {
+            return staticText;
+        }
+        return new FormattedText(originalInput, renderComponent(context, true));
+    }
+
+    public Component component() {
+        return render().component();
+    }
+
+    public AnimatedText animate(int frameCount) {
+        return animate(frameCount, null);
+    }
+
+    public AnimatedText animate(int frameCount, Object context) {
+        if (frameCount <= 0) {
+            throw new IllegalArgumentException("Frame count must be positive");
+        }
+
+        String[] slotValues = new String[slots.size()];
+        for (int i = 0; i < slotValues.length; i++) {
+            slotValues[i] = resolveSlot(slots.get(i), context);
+        }
+
+        boolean animated = segments.stream().anyMatch(ComponentBuilder::hasColorRuns);
+        Component[] frames = new Component[frameCount];
+        for (int frame = 0; frame < frameCount; frame++) {
+            frames[frame] = animated || frame == 0 ? renderFrame(slotValues, frame, frameCount) : frames[0];
+        }
+        return new AnimatedText(frames);
+    }
+
+    public boolean isStatic() {
+        return slots.isEmpty();
+    }
+
+    public String originalInput() {
+        return originalInput;
+    }
+
+    private Component renderComponent(Object context, boolean expandSlots) {
+        TextComponent.@NotNull Builder builder = Component.text();
+        int slotIndex = 0;
+
+        for (int i = 0; i <= children.size(); i++) {
+            while (slotIndex < slots.size() && slots.get(slotIndex).position() == i) {
+                Slot slot = slots.get(slotIndex++);
+                if (expandSlots) {
+                    Component value = renderSlot(slot, context);
+                    if (value != null) {
+                        builder.append(value);
+                    }
+                }
+            }
+            if (i < children.size()) {
+                builder.append(children.get(i));
+            }
+        }
+
+        return componentBuilder.finish(builder.build());
+    }
+
+    private Component renderFrame(String[] slotValues, int frame, int frameCount) {
+        TextComponent.@NotNull Builder builder = Component.text();
+        int childIndex = 0;
+        int slotIndex = 0;
+
+        for (TextSegment segment : segments) {
+            if (segment.isSlot()) {
+                Slot slot = slots.get(slotIndex);
+                Component value = buildSlot(slot, slotValues[slotIndex++], frame, frameCount);
+                if (value != null) {
+                    builder.append(value);
+                }
+            } else if (!segment.text().isEmpty()) {
+                Component child = children.get(childIndex++);
+                if (frame != 0 && ComponentBuilder.hasColorRuns(segment)) {
+                    child = componentBuilder.buildSegmentComponent(segment, frame, frameCount);
+                }
+                builder.append(child);
+            }
+        }
+
+        return componentBuilder.finish(builder.build());
+    }
+
+    private Component renderSlot(Slot slot, Object context) {
+        return buildSlot(slot, resolveSlot(slot, context), 0, 1);
+    }
+
+    private String resolveSlot(Slot slot, Object context) {
+        TextSegment style = slot.style();
+        return slot.processor().process(style.slotTag(), style.slotContent(), context);
+    }
+
+    private Component buildSlot(Slot slot, String value, int frame, int frameCount) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+
+        TextSegment style = slot.style();
+        if (slot.allowMarkup()) {
+            // Values change per render, so parse them directly instead of going through the template cache
+            ComponentSink sink = new ComponentSink(componentBuilder);
+            miniText.getSegmentParser().parseReplacement(value, style, sink);
+            return sink.build();
+        }
+        return componentBuilder.buildText(style, value, frame, frameCount);
+    }
+
+    private record Slot(int position, TextSegment style, ComponentProcessor processor, boolean allowMarkup) {}
+}
@@ -1,13 +1,21 @@
 package com.bruhdows.minitext;
 
+import com.bruhdows.minitext.metrics.MiniTextMetrics;
 import com.bruhdows.minitext.processor.TextProcessor;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 
 public class FormattedText {
+    private static final LegacyComponentSerializer LEGACY_SERIALIZER = LegacyComponentSerializer.builder()
+            .character('§')
+            .hexColors()
+            .build();
+
     private final String originalInput;
-    private final Component component;
-    private final String legacyString;
+    private final MiniText miniText;
+    private final Object context;
+    private volatile Component component;
+    private volatile String legacyString;
 
     public FormattedText(String input, MiniText miniText) {
         this(input, miniText, null);
@@ -15,22 +23,55 @@ public class FormattedText {
     
     public FormattedText(String input, MiniText miniText, Object context) {
         this.originalInput = input;
+        this.miniText = miniText;
+        this.context = context;
+    }
 
-        TextProcessor processor = new TextProcessor(miniText, context);
-        this.component = processor.process(input);
-        this.legacyString = LegacyComponentSerializer.builder()
-                .character('§')
-                .hexColors()
-                .build()
-                .serialize(component);
+    public FormattedText(String input, Component component) {
+        this(input, component, null);
+    }
+
+    FormattedText(String input, Component component, String legacyString) {
+        this.originalInput = input;
+        this.miniText = null;
+        this.context = null;
+        this.component = component;
+        this.legacyString = legacyString;
     }
     
     public Component component() {
-        return component;
+        Component result = component;
+        if (result == null) {
+            synchronized (this) {
+                result = component;
+                if (result == null) {
+                    result = new TextProcessor(miniText, context).process(originalInput);
+                    component = result;
+                }
+            }
+        }
+        return result;
     }
     
     public String legacyString() {
-        return legacyString;
+        String result = legacyString;
+        if (result == null) {
+            synchronized (this) {
+                result = legacyString;
+                if (result == null) {
+                    Component component = component();
+                    if (miniText != null && miniText.isMetricsEnabled()) {
+                        long start = System.nanoTime();
+                        result = LEGACY_SERIALIZER.serialize(component);
+                        miniText.getMetrics().recordStage(MiniTextMetrics.Stage.LEGACY_SERIALIZE, System.nanoTime() - start);
+                    } else {
+                        result = LEGACY_SERIALIZER.serialize(component);
+                    }
+                    legacyString = result;
+                }
+            }
+        }
+        return result;
     }
     
     public String originalInput() {
@@ -39,6 +80,6 @@ public class FormattedText {
     
     @Override
     public String toString() {
-        return legacyString;
+        return legacyString();
     }
 }
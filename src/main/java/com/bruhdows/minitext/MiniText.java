@@ -1,16 +1,38 @@
 package com.bruhdows.minitext;
 
+import com.bruhdows.minitext.component.ComponentBuilder;
+import com.bruhdows.minitext.component.PoolingStrategy;
+import com.bruhdows.minitext.component.SegmentParser;
+import com.bruhdows.minitext.component.SegmentPool;
+import com.bruhdows.minitext.component.SegmentSink;
+import com.bruhdows.minitext.component.TagHandler;
+import com.bruhdows.minitext.component.TagRegistry;
+import com.bruhdows.minitext.component.VisibleText;
 import com.bruhdows.minitext.formatter.BracketFormatter;
 import com.bruhdows.minitext.formatter.FormatterType;
 import com.bruhdows.minitext.formatter.HexFormatter;
 import com.bruhdows.minitext.formatter.LegacyFormatter;
+import com.bruhdows.minitext.layout.TextLayout;
+import com.bruhdows.minitext.metrics.MiniTextMetrics;
+import com.bruhdows.minitext.processor.AsyncComponentProcessor;
 import com.bruhdows.minitext.processor.ComponentProcessor;
+import com.bruhdows.minitext.processor.TextProcessor;
 import com.bruhdows.minitext.serialization.DefaultMiniTextSerializer;
 import com.bruhdows.minitext.serialization.MiniTextSerializer;
+import com.bruhdows.minitext.util.ColorHelper;
+import com.bruhdows.minitext.util.IdentityCache;
+import com.bruhdows.minitext.util.LruCache;
+import lombok.AccessLevel;
 import lombok.Getter;
 import net.kyori.adventure.text.Component;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
 
 @Getter
 public class MiniText {
@@ -21,13 +43,99 @@ public class MiniText {
     private final LegacyFormatter legacyFormatter;
     private final HexFormatter hexFormatter;
     private final BracketFormatter bracketFormatter;
+    private final LruCache<String, CompiledTemplate> templateCache;
+    private final boolean coalesceGradients;
+    private final int gradientColorTolerance;
+    private final boolean optimizeComponents;
+    private final ColorHelper colorHelper;
+    private final TagRegistry tagRegistry;
+    private final SegmentPool segmentPool;
+    private final SegmentParser segmentParser;
+    private final ComponentBuilder componentBuilder;
+    private final IdentityCache<Component, String> serializationCache;
+    private final MiniTextMetrics metrics;
+    private final boolean metricsEnabled;
+    @Getter(AccessLevel.NONE)
+    private final DefaultMiniTextSerializer serializer;
+    @Getter(AccessLevel.NONE)
+    private final TextLayout layout;
+    @Getter(AccessLevel.NONE)
+    private final LongAdder plainTextHits = new LongAdder();
+    @Getter(AccessLevel.NONE)
+    private final boolean hasCustomProcessors;
+    // Cached in place of a template for inputs with custom tags, which deserialize parses directly
+    @Getter(AccessLevel.NONE)
+    private final CompiledTemplate dynamicInput;
 
     private MiniText(Builder builder) {
         this.enabledFormatters = EnumSet.copyOf(builder.enabledFormatters);
+        this.metrics = builder.metrics;
+        this.metricsEnabled = metrics != MiniTextMetrics.NONE;
         Map<String, ComponentProcessor> customProcessors = new HashMap<>(builder.customProcessors);
+        Map<String, AsyncComponentProcessor> asyncProcessors = new HashMap<>(builder.asyncProcessors);
+        if (metricsEnabled) {
+            customProcessors.replaceAll(this::timed);
+            asyncProcessors.replaceAll(this::timedAsync);
+        }
+        this.hasCustomProcessors = !customProcessors.isEmpty();
+        Set<String> markupTags = new HashSet<>(builder.markupTags);
         this.legacyFormatter = new LegacyFormatter();
         this.hexFormatter = new HexFormatter();
-        this.bracketFormatter = new BracketFormatter(customProcessors);
+        this.bracketFormatter = new BracketFormatter(customProcessors, markupTags, asyncProcessors);
+        this.templateCache = builder.templateCacheSize > 0
+                ? new LruCache<>(builder.templateCacheSize, builder.templateCacheExpiry)
+                : null;
+        this.coalesceGradients = builder.coalesceGradients;
+        this.gradientColorTolerance = builder.gradientColorTolerance;
+        this.optimizeComponents = builder.optimizeComponents;
+        this.colorHelper = new ColorHelper(builder.colorCacheSize);
+        this.tagRegistry = buildTagRegistry(builder, customProcessors, markupTags, colorHelper);
+        this.segmentPool = SegmentPool.of(builder.poolingStrategy);
+        this.segmentParser = new SegmentParser(this, colorHelper, segmentPool);
+        this.componentBuilder = new ComponentBuilder(coalesceGradients, gradientColorTolerance, optimizeComponents);
+        this.serializationCache = builder.serializationCacheSize > 0
+                ? new IdentityCache<>(builder.serializationCacheSize)
+                : null;
+        this.serializer = new DefaultMiniTextSerializer(this, false, true, serializationCache);
+        this.layout = new TextLayout(this);
+        this.dynamicInput = templateCache != null ? new CompiledTemplate(this, "", List.of()) : null;
+    }
+
+    private static TagRegistry buildTagRegistry(Builder builder, Map<String, ComponentProcessor> customProcessors,
+                                                Set<String> markupTags, ColorHelper colorHelper) {
+        TagRegistry.Builder registry = TagRegistry.builder().defaults(colorHelper);
+        builder.customTags.forEach((tag, handler) -> registry.tag(tag, FormatterType.CUSTOM, handler));
+        customProcessors.forEach((tag, processor) -> registry.processor(tag, processor, markupTags.contains(tag)));
+        return registry.build();
+    }
+
+    private ComponentProcessor timed(String tag, ComponentProcessor processor) {
+        return (type, content, context) -> {
+            long start = System.nanoTime();
+            try {
+                return processor.process(type, content, context);
+            } finally {
+                metrics.recordProcessor(tag, System.nanoTime() - start);
+            }
+        };
+    }
+
+    private AsyncComponentProcessor timedAsync(String tag, AsyncComponentProcessor processor) {
+        return (type, content, context) -> {
+            long start = System.nanoTime();
+            CompletableFuture<String> future = processor.process(type, content, context);
+            if (future == null) {
+                metrics.recordProcessor(tag, System.nanoTime() - start);
+                throw new NullPointerException("Async processor for tag " + tag + " returned a null future");
+            }
+            return future.whenComplete((value, error) -> metrics.recordProcessor(tag, System.nanoTime() - start));
+        };
+    }
+
+    private void recordCall(MiniTextMetrics.Operation operation, String input) {
+        if (metricsEnabled) {
+            metrics.recordCall(operation, input.length());
+        }
     }
 
     public static MiniText miniText() {
@@ -39,36 +147,291 @@ public class MiniText {
     }
 
     public MiniTextSerializer serializer() {
-        return new DefaultMiniTextSerializer(this);
+        return serializer;
     }
 
     public MiniTextSerializer serializer(boolean useShortHex, boolean preferNamedColors) {
+        if (!useShortHex && preferNamedColors) {
+            return serializer;
+        }
         return new DefaultMiniTextSerializer(this, useShortHex, preferNamedColors);
     }
 
+    public TextLayout layout() {
+        return layout;
+    }
+
     public String serialize(Component component) {
         return serializer().serialize(component);
     }
 
+    public CompletableFuture<String> serializeAsync(Component component, Executor executor) {
+        return serializer().serializeAsync(component, executor);
+    }
+
     public FormattedText deserialize(String input) {
         Objects.requireNonNull(input, "Input cannot be null");
+        recordCall(MiniTextMetrics.Operation.DESERIALIZE, input);
         if (input.isEmpty()) {
             return new FormattedText("", this);
         }
+        if (isPlainText(input)) {
+            return plainText(input);
+        }
+        CompiledTemplate template = staticTemplate(input);
+        if (template != null) {
+            return template.render();
+        }
         return new FormattedText(input, this);
     }
 
     public FormattedText deserialize(String input, Object context) {
         Objects.requireNonNull(input, "Input cannot be null");
+        recordCall(MiniTextMetrics.Operation.DESERIALIZE, input);
         if (input.isEmpty()) {
             return new FormattedText("", this, context);
         }
+        if (isPlainText(input)) {
+            return plainText(input);
+        }
+        CompiledTemplate template = staticTemplate(input);
+        if (template != null) {
+            return template.render(context);
+        }
         return new FormattedText(input, this, context);
     }
 
+    public CompletableFuture<FormattedText> deserializeAsync(String input, Object context, Executor executor) {
+        Objects.requireNonNull(input, "Input cannot be null");
+        Objects.requireNonNull(executor, "Executor cannot be null");
+        recordCall(MiniTextMetrics.Operation.DESERIALIZE, input);
+        if (input.isEmpty()) {
+            return CompletableFuture.completedFuture(new FormattedText("", this, context));
+        }
+        if (isPlainText(input)) {
+            return CompletableFuture.completedFuture(plainText(input));
+        }
+        return new TextProcessor(this, context).processAsync(input, executor)
+                .thenApply(component -> new FormattedText(input, component));
+    }
+
+    public List<FormattedText> deserializeAll(Collection<String> inputs) {
+        return deserializeAll(inputs, ForkJoinPool.commonPool());
+    }
+
+    public List<FormattedText> deserializeAll(Collection<String> inputs, Executor executor) {
+        Objects.requireNonNull(inputs, "Inputs cannot be null");
+        Objects.requireNonNull(executor, "Executor cannot be null");
+
+        Map<String, CompletableFuture<FormattedText>> unique = new HashMap<>();
+        List<CompletableFuture<FormattedText>> pending = new ArrayList<>(inputs.size());
+        for (String input : inputs) {
+            Objects.requireNonNull(input, "Input cannot be null");
+            pending.add(unique.computeIfAbsent(input, key ->
+                    CompletableFuture.supplyAsync(() -> deserializeEagerly(key), executor)));
+        }
+
+        List<FormattedText> results = new ArrayList<>(pending.size());
+        for (CompletableFuture<FormattedText> future : pending) {
+            results.add(join(future));
+        }
+        return results;
+    }
+
+    public <K> Map<K, FormattedText> deserializeAll(Map<K, String> inputs) {
+        return deserializeAll(inputs, ForkJoinPool.commonPool());
+    }
+
+    public <K> Map<K, FormattedText> deserializeAll(Map<K, String> inputs, Executor executor) {
+        Objects.requireNonNull(inputs, "Inputs cannot be null");
+        List<FormattedText> results = deserializeAll(inputs.values(), executor);
+
+        Map<K, FormattedText> mapped = new LinkedHashMap<>(Math.max(16, inputs.size() * 4 / 3 + 1));
+        Iterator<FormattedText> iterator = results.iterator();
+        for (K key : inputs.keySet()) {
+            mapped.put(key, iterator.next());
+        }
+        return mapped;
+    }
+
+    public long getPlainTextHitCount() {
+        return plainTextHits.sum();
+    }
+
+    private FormattedText plainText(String input) {
+        plainTextHits.increment();
+        return new FormattedText(input, Component.text(input), input);
+    }
+
+    Component warmSerialization(Component component) {
+        serializer.warm(component);
+        return component;
+    }
+
+    // One cache lookup on repeat calls: the static template, or the marker for inputs with custom tags
+    private CompiledTemplate staticTemplate(String input) {
+        if (templateCache == null) {
+            return null;
+        }
+        CompiledTemplate template = cachedTemplate(input);
+        if (template == null) {
+            template = hasCustomProcessors && !segmentParser.collectCustomTags(input).isEmpty()
+                    ? dynamicInput
+                    : compileUncached(input);
+            templateCache.put(input, template);
+        }
+        return template != dynamicInput && template.isStatic() ? template : null;
+    }
+
+    private static boolean isPlainText(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '[' || c == '&' || c == '§' || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private FormattedText deserializeEagerly(String input) {
+        FormattedText text = deserialize(input);
+        text.component();
+        return text;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public String deserializeToLegacy(String input) {
+        return deserializeToLegacy(input, null);
+    }
+
+    public String deserializeToLegacy(String input, Object context) {
+        Objects.requireNonNull(input, "Input cannot be null");
+        recordCall(MiniTextMetrics.Operation.DESERIALIZE_LEGACY, input);
+        if (input.isEmpty()) {
+            return "";
+        }
+        if (isPlainText(input)) {
+            plainTextHits.increment();
+            return input;
+        }
+        return new TextProcessor(this, context).processLegacy(input);
+    }
+
+    public void deserialize(String input, SegmentSink sink) {
+        deserialize(input, null, sink);
+    }
+
+    public void deserialize(String input, Object context, SegmentSink sink) {
+        Objects.requireNonNull(input, "Input cannot be null");
+        Objects.requireNonNull(sink, "Sink cannot be null");
+        recordCall(MiniTextMetrics.Operation.DESERIALIZE, input);
+        new TextProcessor(this, context).process(input, sink);
+    }
+
+    public String stripTags(String input) {
+        return stripTags(input, null);
+    }
+
+    public String stripTags(String input, Object context) {
+        Objects.requireNonNull(input, "Input cannot be null");
+        if (isPlainText(input)) {
+            return input;
+        }
+        return segmentParser.stripTags(input, context);
+    }
+
+    public int visibleLength(String input) {
+        return visibleLength(input, null);
+    }
+
+    public int visibleLength(String input, Object context) {
+        Objects.requireNonNull(input, "Input cannot be null");
+        if (isPlainText(input)) {
+            return input.length();
+        }
+        return segmentParser.visibleLength(input, context);
+    }
+
+    public VisibleText visibleText(String input) {
+        return visibleText(input, null);
+    }
+
+    public VisibleText visibleText(String input, Object context) {
+        Objects.requireNonNull(input, "Input cannot be null");
+        return segmentParser.visibleText(input, context);
+    }
+
+    public CompiledTemplate compile(String input) {
+        Objects.requireNonNull(input, "Input cannot be null");
+        recordCall(MiniTextMetrics.Operation.COMPILE, input);
+        return compileCached(input);
+    }
+
+    private CompiledTemplate compileCached(String input) {
+        if (templateCache == null) {
+            return compileUncached(input);
+        }
+        CompiledTemplate template = cachedTemplate(input);
+        if (template == null || template == dynamicInput) {
+            template = compileUncached(input);
+            templateCache.put(input, template);
+        }
+        return template;
+    }
+
+    private CompiledTemplate cachedTemplate(String input) {
+        CompiledTemplate template = templateCache.getIfPresent(input);
+        if (metricsEnabled) {
+            if (template != null) {
+                metrics.recordCacheHit(MiniTextMetrics.Cache.TEMPLATE);
+            } else {
+                metrics.recordCacheMiss(MiniTextMetrics.Cache.TEMPLATE);
+            }
+        }
+        return template;
+    }
+
+    public ParseSession session(String input) {
+        return session(input, null);
+    }
+
+    public ParseSession session(String input, Object context) {
+        return new ParseSession(this, input, context);
+    }
+
+    public AnimatedText animate(String input, int frameCount) {
+        return compile(input).animate(frameCount);
+    }
+
+    private CompiledTemplate compileUncached(String input) {
+        return new TextProcessor(this, null).compile(input);
+    }
+
     public static class Builder {
         private final EnumSet<FormatterType> enabledFormatters = EnumSet.allOf(FormatterType.class);
         private final Map<String, ComponentProcessor> customProcessors = new HashMap<>();
+        private final Set<String> markupTags = new HashSet<>();
+        private final Map<String, AsyncComponentProcessor> asyncProcessors = new HashMap<>();
+        private final Map<String, TagHandler> customTags = new HashMap<>();
+        private int templateCacheSize;
+        private Duration templateCacheExpiry = Duration.ZERO;
+        private boolean coalesceGradients;
+        private int gradientColorTolerance;
+        private boolean optimizeComponents;
+        private int colorCacheSize = 256;
+        private PoolingStrategy poolingStrategy = PoolingStrategy.THREAD_LOCAL;
+        private int serializationCacheSize;
+        private MiniTextMetrics metrics = MiniTextMetrics.NONE;
 
         public Builder enableFormatter(FormatterType... types) {
             Collections.addAll(enabledFormatters, types);
@@ -89,12 +452,106 @@ public class MiniText {
         }
 
         public Builder addCustomProcessor(String tag, ComponentProcessor processor) {
-            customProcessors.put(tag.toLowerCase(), processor);
+            return addCustomProcessor(tag, processor, false);
+        }
+
+        public Builder addCustomProcessor(String tag, ComponentProcessor processor, boolean allowMarkup) {
+            String key = tag.toLowerCase();
+            customProcessors.put(key, processor);
+            asyncProcessors.remove(key);
+            if (allowMarkup) {
+                markupTags.add(key);
+            } else {
+                markupTags.remove(key);
+            }
+            return this;
+        }
+
+        public Builder addAsyncProcessor(String tag, AsyncComponentProcessor processor) {
+            return addAsyncProcessor(tag, processor, false);
+        }
+
+        public Builder addAsyncProcessor(String tag, AsyncComponentProcessor processor, boolean allowMarkup) {
+            addCustomProcessor(tag, (type, content, context) -> {
+                CompletableFuture<String> future = processor.process(type, content, context);
+                return Objects.requireNonNull(future, () -> "Async processor for tag " + type + " returned a null future").join();
+            }, allowMarkup);
+            asyncProcessors.put(tag.toLowerCase(), processor);
+            return this;
+        }
+
+        public Builder addTag(String tag, TagHandler handler) {
+            customTags.put(tag.toLowerCase(), Objects.requireNonNull(handler, "Handler cannot be null"));
+            return this;
+        }
+
+        public Builder removeTag(String tag) {
+            customTags.remove(tag.toLowerCase());
             return this;
         }
 
         public Builder removeCustomProcessor(String tag) {
             customProcessors.remove(tag.toLowerCase());
+            markupTags.remove(tag.toLowerCase());
+            asyncProcessors.remove(tag.toLowerCase());
+            return this;
+        }
+
+        public Builder templateCache(int maximumSize) {
+            return templateCache(maximumSize, Duration.ZERO);
+        }
+
+        public Builder templateCache(int maximumSize, Duration expireAfterWrite) {
+            if (maximumSize < 0) {
+                throw new IllegalArgumentException("Maximum size cannot be negative");
+            }
+            this.templateCacheSize = maximumSize;
+            this.templateCacheExpiry = Objects.requireNonNull(expireAfterWrite, "Expiry cannot be null");
+            return this;
+        }
+
+        public Builder coalesceGradients(boolean coalesce) {
+            this.coalesceGradients = coalesce;
+            return this;
+        }
+
+        public Builder coalesceGradients(int colorTolerance) {
+            if (colorTolerance < 0 || colorTolerance > 255) {
+                throw new IllegalArgumentException("Color tolerance must be between 0 and 255");
+            }
+            this.coalesceGradients = true;
+            this.gradientColorTolerance = colorTolerance;
+            return this;
+        }
+
+        public Builder optimizeComponents(boolean optimize) {
+            this.optimizeComponents = optimize;
+            return this;
+        }
+
+        public Builder colorCache(int maximumSize) {
+            if (maximumSize <= 0) {
+                throw new IllegalArgumentException("Maximum size must be positive");
+            }
+            this.colorCacheSize = maximumSize;
+            return this;
+        }
+
+        public Builder serializationCache(int maximumSize) {
+            if (maximumSize < 0) {
+                throw new IllegalArgumentException("Maximum size cannot be negative");
+            }
+            this.serializationCacheSize = maximumSize;
+            return this;
+        }
+
+        public Builder metrics(MiniTextMetrics metrics) {
+            this.metrics = Objects.requireNonNull(metrics, "Metrics cannot be null");
+            return this;
+        }
+
+        public Builder pooling(PoolingStrategy strategy) {
+            this.poolingStrategy = Objects.requireNonNull(strategy, "Pooling strategy cannot be null");
             return this;
         }
 
@@ -0,0 +1,194 @@
+package com.bruhdows.minitext;
+
+import com.bruhdows.minitext.component.ComponentBuilder;
+import com.bruhdows.minitext.component.TextSegment;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public class ParseSession {
+    // Longest distance a token can look ahead: §x§r§r§g§g§b§b
+    private static final int MAX_TOKEN_LENGTH = 14;
+
+    private final MiniText miniText;
+    private final Object context;
+    private final ComponentBuilder componentBuilder;
+    private String text;
+    private final List<Component> children = new ArrayList<>();
+    private final List<Checkpoint> checkpoints = new ArrayList<>();
+    private Component component;
+
+    public ParseSession(MiniText miniText, String input, Object context) {
+        this.miniText = miniText;
+        this.context = context;
+        this.componentBuilder = miniText.getComponentBuilder();
+        this.text = Objects.requireNonNull(input, "Input cannot be null");
+        reparse(0, new TextSegment(), null, children, checkpoints, 0);
+        ensureInitialCheckpoint();
+    }
+
+    public String text() {
+        return text;
+    }
+
+    public Component component() {
+        Component result = component;
+        if (result == null) {
+            TextComponent.@NotNull Builder builder = Component.text();
+            builder.append(children);
+            result = componentBuilder.finish(builder.build());
+            component = result;
+        }
+        return result;
+    }
+
+    public Component setText(String input) {
+        Objects.requireNonNull(input, "Input cannot be null");
+        int max = Math.min(text.length(), input.length());
+        int prefix = 0;
+        while (prefix < max && text.charAt(prefix) == input.charAt(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < max - prefix
+                && text.charAt(text.length() - 1 - suffix) == input.charAt(input.length() - 1 - suffix)) {
+            suffix++;
+        }
+        return edit(prefix, text.length() - prefix - suffix, input.substring(prefix, input.length() - suffix));
+    }
+
+    public Component edit(int offset, int removedLength, String inserted) {
+        Objects.requireNonNull(inserted, "Inserted text cannot be null");
+        if (offset < 0 || removedLength < 0 || offset + removedLength > text.length()) {
+            throw new IndexOutOfBoundsException("Edit out of range: offset " + offset + ", length " + removedLength);
+        }
+        if (removedLength == 0 && inserted.isEmpty()) {
+            return component();
+        }
+
+        String previous = text;
+        text = previous.substring(0, offset) + inserted + previous.substring(offset + removedLength);
+
+        int restartIndex = findCheckpoint(restartLimit(previous, offset));
+        Checkpoint restart = checkpoints.get(restartIndex);
+        int delta = inserted.length() - removedLength;
+        Resume resume = new Resume(checkpoints, restartIndex + 1, offset + inserted.length(), delta);
+        List<Component> newChildren = new ArrayList<>();
+        List<Checkpoint> newCheckpoints = new ArrayList<>();
+        reparse(restart.offset, restart.style, resume, newChildren, newCheckpoints, restart.childIndex);
+
+        int stopIndex = resume.stopIndex >= 0 ? resume.stopIndex : checkpoints.size();
+        int stopChild = resume.stopIndex >= 0 ? checkpoints.get(stopIndex).childIndex : children.size();
+        int shift = restart.childIndex + newChildren.size() - stopChild;
+        for (Checkpoint checkpoint : checkpoints.subList(stopIndex, checkpoints.size())) {
+            checkpoint.offset += delta;
+            checkpoint.childIndex += shift;
+        }
+
+        children.subList(restart.childIndex, stopChild).clear();
+        children.addAll(restart.childIndex, newChildren);
+        checkpoints.subList(restartIndex, stopIndex).clear();
+        checkpoints.addAll(restartIndex, newCheckpoints);
+        ensureInitialCheckpoint();
+
+        component = null;
+        return component();
+    }
+
+    private void reparse(int from, TextSegment style, Resume resume, List<Component> newChildren,
+                         List<Checkpoint> newCheckpoints, int childBase) {
+        miniText.getSegmentParser().parse(text, from, style, context, segment -> {
+            if (!segment.text().isEmpty()) {
+                newChildren.add(componentBuilder.buildSegmentComponent(segment));
+            }
+        }, (offset, current) -> {
+            if (resume != null && resume.canStop(offset, current)) {
+                return false;
+            }
+            TextSegment snapshot = new TextSegment().copyFrom(current);
+            newCheckpoints.add(new Checkpoint(offset, childBase + newChildren.size(), snapshot));
+            return true;
+        });
+    }
+
+    private void ensureInitialCheckpoint() {
+        if (checkpoints.isEmpty()) {
+            checkpoints.add(new Checkpoint(0, 0, new TextSegment()));
+        }
+    }
+
+    private static int restartLimit(String previous, int offset) {
+        int limit = offset - MAX_TOKEN_LENGTH;
+        int lastClose = previous.lastIndexOf(']', offset - 1);
+        int firstOpen = previous.indexOf('[', lastClose + 1);
+        if (firstOpen >= 0 && firstOpen < offset) {
+            limit = Math.min(limit, firstOpen);
+        }
+        return limit;
+    }
+
+    private int findCheckpoint(int limit) {
+        int low = 0;
+        int high = checkpoints.size() - 1;
+        int found = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (checkpoints.get(mid).offset <= limit) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private static final class Checkpoint {
+        private int offset;
+        private int childIndex;
+        private final TextSegment style;
+
+        private Checkpoint(int offset, int childIndex, TextSegment style) {
+            this.offset = offset;
+            this.childIndex = childIndex;
+            this.style = style;
+        }
+    }
+
+    private static final class Resume {
+        private final List<Checkpoint> oldCheckpoints;
+        private final int editEnd;
+        private final int delta;
+        private int searchIndex;
+        private int stopIndex = -1;
+
+        private Resume(List<Checkpoint> oldCheckpoints, int searchIndex, int editEnd, int delta) {
+            this.oldCheckpoints = oldCheckpoints;
+            this.searchIndex = searchIndex;
+            this.editEnd = editEnd;
+            this.delta = delta;
+        }
+
+        private boolean canStop(int offset, TextSegment style) {
+            if (offset < editEnd) {
+                return false;
+            }
+            int oldOffset = offset - delta;
+            while (searchIndex < oldCheckpoints.size() && oldCheckpoints.get(searchIndex).offset < oldOffset) {
+                searchIndex++;
+            }
+            if (searchIndex < oldCheckpoints.size()) {
+                Checkpoint candidate = oldCheckpoints.get(searchIndex);
+                if (candidate.offset == oldOffset && candidate.style.hasSameStyle(style)) {
+                    stopIndex = searchIndex;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
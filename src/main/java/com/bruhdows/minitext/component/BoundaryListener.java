@@ -0,0 +1,7 @@
+package com.bruhdows.minitext.component;
+
+@FunctionalInterface
+public interface BoundaryListener {
+    // Called where parsing could restart from the given style; return false to stop parsing there
+    boolean boundary(int offset, TextSegment style);
+}
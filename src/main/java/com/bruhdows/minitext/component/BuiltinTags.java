@@ -0,0 +1,111 @@
+package com.bruhdows.minitext.component;
+
+import com.bruhdows.minitext.formatter.FormatterType;
+import com.bruhdows.minitext.util.ColorHelper;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+
+import java.util.List;
+import java.util.Map;
+
+final class BuiltinTags {
+
+    private BuiltinTags() {}
+
+    static void register(TagRegistry.Builder registry, ColorHelper colorHelper) {
+        for (Map.Entry<String, NamedTextColor> entry : ColorHelper.namedColors().entrySet()) {
+            NamedTextColor color = entry.getValue();
+            registry.tag(entry.getKey(), FormatterType.NAMED_COLORS, (style, argument) -> {
+                style.color = color;
+                style.clearDecorations();
+            });
+        }
+        for (Map.Entry<String, TextDecoration> entry : ColorHelper.namedDecorations().entrySet()) {
+            TextDecoration decoration = entry.getValue();
+            registry.tag(entry.getKey(), FormatterType.DECORATIONS, (style, argument) -> style.decorate(decoration));
+        }
+
+        registry.tag("reset", FormatterType.RESET, (style, argument) -> style.reset());
+        registry.tag("rainbow", FormatterType.RAINBOW, BuiltinTags::rainbow);
+        registry.tag("gradient", FormatterType.GRADIENTS, (style, argument) -> gradient(style, argument, colorHelper));
+        registry.tag("hover", FormatterType.HOVER_EVENTS, BuiltinTags::hover);
+        registry.tag("click", FormatterType.CLICK_EVENTS, BuiltinTags::click);
+    }
+
+    private static void rainbow(TextSegment style, String argument) {
+        int phase = 0;
+        if (argument != null) {
+            try {
+                phase = Integer.parseInt(argument);
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        style.rainbow = true;
+        style.rainbowPhase = phase;
+        style.gradient = false;
+        style.gradientColors = null;
+        style.color = null;
+        style.decorations = 0;
+        style.hoverEvent = null;
+        style.clickEvent = null;
+    }
+
+    private static void gradient(TextSegment style, String argument, ColorHelper colorHelper) {
+        if (argument == null) {
+            return;
+        }
+        List<TextColor> gradientColors = colorHelper.parseGradient(argument);
+        if (gradientColors.size() >= 2) {
+            style.gradient = true;
+            style.gradientColors = gradientColors;
+            style.rainbow = false;
+            style.color = null;
+            style.decorations = 0;
+            style.hoverEvent = null;
+            style.clickEvent = null;
+        }
+    }
+
+    private static void hover(TextSegment style, String argument) {
+        if (argument == null) {
+            return;
+        }
+        String[] hoverParts = argument.split(":", 2);
+        if (hoverParts.length == 2) {
+            String hoverType = hoverParts[0];
+            String hoverValue = unquote(hoverParts[1]);
+            if ("show_text".equals(hoverType)) {
+                style.hoverEvent = HoverEvent.showText(Component.text(hoverValue));
+            }
+        }
+    }
+
+    private static void click(TextSegment style, String argument) {
+        if (argument == null) {
+            return;
+        }
+        String[] clickParts = argument.split(":", 2);
+        if (clickParts.length == 2) {
+            String clickType = clickParts[0];
+            String clickValue = unquote(clickParts[1]);
+            style.clickEvent = switch (clickType) {
+                case "open_url" -> ClickEvent.openUrl(clickValue);
+                case "run_command" -> ClickEvent.runCommand(clickValue);
+                case "suggest_command" -> ClickEvent.suggestCommand(clickValue);
+                case "copy_to_clipboard" -> ClickEvent.copyToClipboard(clickValue);
+                default -> style.clickEvent;
+            };
+        }
+    }
+
+    private static String unquote(String value) {
+        if (value.startsWith("'") && value.endsWith("'") && value.length() > 1) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+}
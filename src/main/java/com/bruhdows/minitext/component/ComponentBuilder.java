@@ -1,5 +1,8 @@
 package com.bruhdows.minitext.component;
 
+import com.bruhdows.minitext.MiniText;
+import com.bruhdows.minitext.util.ColorTables;
+import com.bruhdows.minitext.util.StylePool;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.format.Style;
@@ -7,11 +10,43 @@ import net.kyori.adventure.text.format.TextColor;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
-import java.util.Map;
 
 public class ComponentBuilder {
 
-    private static final Style EMPTY_STYLE = Style.empty();
+    private static final Component SPACE = Component.text(' ');
+    private static final Component NEWLINE = Component.text('\n');
+
+    private final boolean coalesceGradients;
+    private final int colorTolerance;
+    private final boolean optimizeComponents;
+
+    @FunctionalInterface
+    interface ColorRunConsumer {
+        void accept(int start, int end, TextColor color);
+    }
+
+    @FunctionalInterface
+    public interface StyleRunConsumer {
+        void accept(int start, int end, Style style);
+    }
+
+    public ComponentBuilder() {
+        this(false, 0);
+    }
+
+    public ComponentBuilder(MiniText miniText) {
+        this(miniText.isCoalesceGradients(), miniText.getGradientColorTolerance(), miniText.isOptimizeComponents());
+    }
+
+    public ComponentBuilder(boolean coalesceGradients, int colorTolerance) {
+        this(coalesceGradients, colorTolerance, false);
+    }
+
+    public ComponentBuilder(boolean coalesceGradients, int colorTolerance, boolean optimizeComponents) {
+        this.coalesceGradients = coalesceGradients;
+        this.colorTolerance = colorTolerance;
+        this.optimizeComponents = optimizeComponents;
+    }
 
     public Component buildComponent(List<TextSegment> segments) {
         TextComponent.@NotNull Builder builder = Component.text();
@@ -23,138 +58,124 @@ public class ComponentBuilder {
             }
         }
 
-        return builder.build();
+        return finish(builder.build());
     }
 
-    private Component buildSegmentComponent(TextSegment segment) {
-        if (segment.rainbow) {
-            return createRainbowComponent(segment);
-        } else if (segment.gradient && segment.gradientColors != null && segment.gradientColors.size() >= 2) {
-            return createGradientComponent(segment);
-        } else {
-            return Component.text(segment.text).style(buildStyle(segment));
-        }
+    public Component finish(Component root) {
+        return optimizeComponents ? ComponentOptimizer.optimize(root) : root;
     }
 
-    private Component createRainbowComponent(TextSegment segment) {
-        TextComponent.@NotNull Builder builder = Component.text();
-        String text = segment.text;
-        Style baseStyle = buildStyleWithoutColor(segment);
+    public Component buildText(TextSegment style, String text) {
+        return buildText(style, text, 0, 1);
+    }
 
-        for (int i = 0; i < text.length(); i++) {
-            char c = text.charAt(i);
-            if (c != ' ' && c != '\n') {
-                float hue = ((float) (i + segment.rainbowPhase) / text.length()) * 360f;
-                int rgb = java.awt.Color.HSBtoRGB(hue / 360f, 1f, 1f);
-                TextColor color = TextColor.color(rgb);
+    public Component buildText(TextSegment style, String text, int frame, int frameCount) {
+        TextSegment segment = new TextSegment(style);
+        segment.text = text;
+        return buildSegmentComponent(segment, frame, frameCount);
+    }
 
-                Style style = baseStyle.color(color);
-                builder.append(Component.text(c).style(style));
-            } else {
-                builder.append(Component.text(c));
-            }
-        }
+    public Component buildSegmentComponent(TextSegment segment) {
+        return buildSegmentComponent(segment, 0, 1);
+    }
 
-        return builder.build();
+    public Component buildSegmentComponent(TextSegment segment, int frame, int frameCount) {
+        if (hasColorRuns(segment)) {
+            return createColorRunComponent(segment, frame, frameCount);
+        } else {
+            return Component.text(segment.text).style(buildStyle(segment));
+        }
     }
 
-    private Component createGradientComponent(TextSegment segment) {
+    private Component createColorRunComponent(TextSegment segment, int frame, int frameCount) {
         TextComponent.@NotNull Builder builder = Component.text();
         String text = segment.text;
-        List<TextColor> colors = segment.gradientColors;
-        Style baseStyle = buildStyleWithoutColor(segment);
-
-        for (int i = 0; i < text.length(); i++) {
-            char c = text.charAt(i);
-            if (c != ' ' && c != '\n') {
-                float progress = (float) i / Math.max(1, text.length() - 1);
-                TextColor color = interpolateColor(colors, progress);
 
-                Style style = baseStyle.color(color);
-                builder.append(Component.text(c).style(style));
+        forEachColorRun(segment, hasPlainBaseStyle(segment), frame, frameCount, (start, end, color) -> {
+            if (color == null) {
+                builder.append(text.charAt(start) == '\n' ? NEWLINE : SPACE);
+                return;
+            }
+            Style style = StylePool.style(color, segment.decorations, segment.hoverEvent, segment.clickEvent);
+            if (end - start == 1) {
+                builder.append(Component.text(text.charAt(start)).style(style));
             } else {
-                builder.append(Component.text(c));
+                builder.append(Component.text(text.substring(start, end)).style(style));
             }
-        }
+        });
 
         return builder.build();
     }
 
-    private TextColor interpolateColor(List<TextColor> colors, float progress) {
-        if (colors.size() == 1) return colors.get(0);
-
-        float segment = progress * (colors.size() - 1);
-        int index = Math.min((int) Math.floor(segment), colors.size() - 2);
-        float localProgress = segment - index;
-
-        TextColor color1 = colors.get(index);
-        TextColor color2 = colors.get(index + 1);
-
-        return interpolateBetween(color1, color2, localProgress);
+    public void forEachStyleRun(TextSegment segment, StyleRunConsumer consumer) {
+        if (!hasColorRuns(segment)) {
+            consumer.accept(0, segment.text.length(), buildStyle(segment));
+            return;
+        }
+        forEachColorRun(segment, hasPlainBaseStyle(segment), (start, end, color) -> consumer.accept(start, end, color == null
+                ? Style.empty()
+                : StylePool.style(color, segment.decorations, segment.hoverEvent, segment.clickEvent)));
     }
 
-    private TextColor interpolateBetween(TextColor color1, TextColor color2, float progress) {
-        int r1 = color1.red();
-        int g1 = color1.green();
-        int b1 = color1.blue();
-
-        int r2 = color2.red();
-        int g2 = color2.green();
-        int b2 = color2.blue();
-
-        int r = (int) (r1 + (r2 - r1) * progress);
-        int g = (int) (g1 + (g2 - g1) * progress);
-        int b = (int) (b1 + (b2 - b1) * progress);
-
-        return TextColor.color(r, g, b);
+    public static boolean hasColorRuns(TextSegment segment) {
+        return segment.rainbow
+                || (segment.gradient && segment.gradientColors != null && segment.gradientColors.size() >= 2);
     }
 
-    private Style buildStyle(TextSegment segment) {
-        if (segment.color == null && segment.decorations.isEmpty() &&
-                segment.hoverEvent == null && segment.clickEvent == null) {
-            return EMPTY_STYLE;
-        }
-
-        Style.Builder builder = Style.style();
-
-        if (segment.color != null) {
-            builder.color(segment.color);
-        }
-
-        for (Map.Entry<net.kyori.adventure.text.format.TextDecoration, Boolean> entry : segment.decorations.entrySet()) {
-            builder.decoration(entry.getKey(), entry.getValue());
-        }
-
-        if (segment.hoverEvent != null) {
-            builder.hoverEvent(segment.hoverEvent);
-        }
-
-        if (segment.clickEvent != null) {
-            builder.clickEvent(segment.clickEvent);
-        }
+    static boolean hasPlainBaseStyle(TextSegment segment) {
+        return segment.decorations == 0 && segment.hoverEvent == null && segment.clickEvent == null;
+    }
 
-        return builder.build();
+    void forEachColorRun(TextSegment segment, boolean absorbWhitespace, ColorRunConsumer consumer) {
+        forEachColorRun(segment, absorbWhitespace, 0, 1, consumer);
     }
 
-    private Style buildStyleWithoutColor(TextSegment segment) {
-        if (segment.decorations.isEmpty() && segment.hoverEvent == null && segment.clickEvent == null) {
-            return EMPTY_STYLE;
-        }
+    void forEachColorRun(TextSegment segment, boolean absorbWhitespace, int frame, int frameCount,
+                         ColorRunConsumer consumer) {
+        String text = segment.text;
+        List<TextColor> colors = segment.rainbow
+                ? ColorTables.rainbow(text.length(), segment.rainbowPhase, frame, frameCount)
+                : ColorTables.gradient(segment.gradientColors, text.length(), frame, frameCount);
+        int runStart = -1;
+        TextColor runColor = null;
 
-        Style.Builder builder = Style.style();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ' ' || c == '\n') {
+                if (coalesceGradients && absorbWhitespace && runStart >= 0) {
+                    continue;
+                }
+                if (runStart >= 0) {
+                    consumer.accept(runStart, i, runColor);
+                    runStart = -1;
+                }
+                consumer.accept(i, i + 1, null);
+                continue;
+            }
 
-        for (Map.Entry<net.kyori.adventure.text.format.TextDecoration, Boolean> entry : segment.decorations.entrySet()) {
-            builder.decoration(entry.getKey(), entry.getValue());
+            TextColor color = colors.get(i);
+            if (runStart >= 0 && coalesceGradients && isWithinTolerance(runColor, color)) {
+                continue;
+            }
+            if (runStart >= 0) {
+                consumer.accept(runStart, i, runColor);
+            }
+            runStart = i;
+            runColor = color;
         }
 
-        if (segment.hoverEvent != null) {
-            builder.hoverEvent(segment.hoverEvent);
+        if (runStart >= 0) {
+            consumer.accept(runStart, text.length(), runColor);
         }
+    }
 
-        if (segment.clickEvent != null) {
-            builder.clickEvent(segment.clickEvent);
-        }
+    private boolean isWithinTolerance(TextColor first, TextColor second) {
+        return Math.abs(first.red() - second.red()) <= colorTolerance
+                && Math.abs(first.green() - second.green()) <= colorTolerance
+                && Math.abs(first.blue() - second.blue()) <= colorTolerance;
+    }
 
-        return builder.build();
+    public Style buildStyle(TextSegment segment) {
+        return StylePool.style(segment.color, segment.decorations, segment.hoverEvent, segment.clickEvent);
     }
 }
@@ -0,0 +1,94 @@
+package com.bruhdows.minitext.component;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.Style;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class ComponentOptimizer {
+
+    private ComponentOptimizer() {}
+
+    public static Component optimize(Component component) {
+        List<Component> children = new ArrayList<>(component.children().size());
+        for (Component child : component.children()) {
+            Component optimized = optimize(child);
+            if (isBlank(optimized)) {
+                continue;
+            }
+            if (isTransparent(optimized)) {
+                for (Component grandchild : optimized.children()) {
+                    append(children, grandchild);
+                }
+            } else {
+                append(children, optimized);
+            }
+        }
+
+        Component result = sameChildren(component.children(), children) ? component : component.children(children);
+        if (!(result instanceof TextComponent text) || !text.content().isEmpty() || children.isEmpty()) {
+            return result;
+        }
+
+        if (children.size() == 1) {
+            Component child = children.get(0);
+            return text.style().isEmpty() ? child : child.style(text.style().merge(child.style()));
+        }
+        if (text.style().isEmpty()) {
+            return hoistCommonStyle(text, children);
+        }
+        return result;
+    }
+
+    private static Component hoistCommonStyle(TextComponent parent, List<Component> children) {
+        Style common = children.get(0).style();
+        if (common.isEmpty()) {
+            return parent;
+        }
+        for (int i = 1; i < children.size(); i++) {
+            if (!common.equals(children.get(i).style())) {
+                return parent;
+            }
+        }
+
+        List<Component> unstyled = new ArrayList<>(children.size());
+        for (Component child : children) {
+            unstyled.add(child.style(Style.empty()));
+        }
+        return parent.style(common).children(unstyled);
+    }
+
+    private static void append(List<Component> children, Component component) {
+        int last = children.size() - 1;
+        if (last >= 0
+                && children.get(last) instanceof TextComponent previous && previous.children().isEmpty()
+                && component instanceof TextComponent next && next.children().isEmpty()
+                && previous.style().equals(next.style())) {
+            children.set(last, previous.content(previous.content() + next.content()));
+            return;
+        }
+        children.add(component);
+    }
+
+    private static boolean sameChildren(List<Component> original, List<Component> optimized) {
+        if (original.size() != optimized.size()) {
+            return false;
+        }
+        for (int i = 0; i < original.size(); i++) {
+            if (original.get(i) != optimized.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBlank(Component component) {
+        return component instanceof TextComponent text && text.content().isEmpty() && text.children().isEmpty();
+    }
+
+    private static boolean isTransparent(Component component) {
+        return component instanceof TextComponent text && text.content().isEmpty() && text.style().isEmpty();
+    }
+}
@@ -0,0 +1,35 @@
+package com.bruhdows.minitext.component;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import org.jetbrains.annotations.NotNull;
+
+public class ComponentSink implements SegmentSink {
+    private final ComponentBuilder componentBuilder;
+    private final TextComponent.@NotNull Builder builder = Component.text();
+    private int componentCount;
+
+    public ComponentSink() {
+        this(new ComponentBuilder());
+    }
+
+    public ComponentSink(ComponentBuilder componentBuilder) {
+        this.componentBuilder = componentBuilder;
+    }
+
+    @Override
+    public void accept(TextSegment segment) {
+        if (segment.text != null && !segment.text.isEmpty()) {
+            builder.append(componentBuilder.buildSegmentComponent(segment));
+            componentCount++;
+        }
+    }
+
+    public int componentCount() {
+        return componentCount;
+    }
+
+    public Component build() {
+        return componentBuilder.finish(builder.build());
+    }
+}
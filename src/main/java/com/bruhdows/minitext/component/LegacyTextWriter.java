@@ -0,0 +1,126 @@
+package com.bruhdows.minitext.component;
+
+import com.bruhdows.minitext.formatter.LegacyFormatter;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class LegacyTextWriter implements SegmentSink {
+    private static final char SECTION = '§';
+    private static final char[] DECORATION_CODES = new char[TextDecoration.values().length];
+    private static final Map<NamedTextColor, Character> NAMED_COLOR_CODES = new HashMap<>();
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    static {
+        DECORATION_CODES[TextDecoration.OBFUSCATED.ordinal()] = 'k';
+        DECORATION_CODES[TextDecoration.BOLD.ordinal()] = 'l';
+        DECORATION_CODES[TextDecoration.STRIKETHROUGH.ordinal()] = 'm';
+        DECORATION_CODES[TextDecoration.UNDERLINED.ordinal()] = 'n';
+        DECORATION_CODES[TextDecoration.ITALIC.ordinal()] = 'o';
+
+        for (Map.Entry<Character, NamedTextColor> entry : LegacyFormatter.getLegacyColors().entrySet()) {
+            NAMED_COLOR_CODES.put(entry.getValue(), entry.getKey());
+        }
+    }
+
+    private final ComponentBuilder componentBuilder;
+    private final StringBuilder output;
+    private TextColor lastColor;
+    private int lastDecorations;
+
+    public LegacyTextWriter() {
+        this(new ComponentBuilder());
+    }
+
+    public LegacyTextWriter(ComponentBuilder componentBuilder) {
+        this.componentBuilder = componentBuilder;
+        this.output = new StringBuilder();
+    }
+
+    public static String write(List<TextSegment> segments) {
+        return write(segments, new ComponentBuilder());
+    }
+
+    public static String write(List<TextSegment> segments, ComponentBuilder componentBuilder) {
+        LegacyTextWriter writer = new LegacyTextWriter(componentBuilder);
+        for (TextSegment segment : segments) {
+            writer.append(segment);
+        }
+        return writer.toString();
+    }
+
+    @Override
+    public void accept(TextSegment segment) {
+        append(segment);
+    }
+
+    public void append(TextSegment segment) {
+        String text = segment.text;
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+
+        int decorations = segment.decorations;
+        if (ComponentBuilder.hasColorRuns(segment)) {
+            boolean plainBase = ComponentBuilder.hasPlainBaseStyle(segment);
+            componentBuilder.forEachColorRun(segment, plainBase, (start, end, color) -> {
+                if (color == null) {
+                    appendStyle(null, 0);
+                } else {
+                    appendStyle(color, decorations);
+                }
+                output.append(text, start, end);
+            });
+        } else {
+            appendStyle(segment.color, decorations);
+            output.append(text);
+        }
+    }
+
+    private void appendStyle(TextColor color, int decorations) {
+        boolean colorChanged = color == null ? lastColor != null : !color.equals(lastColor);
+        boolean decorationsRemoved = (lastDecorations & ~decorations) != 0;
+
+        if (color != null && (colorChanged || decorationsRemoved)) {
+            appendColor(color);
+            appendDecorations(decorations);
+        } else if (color == null && (colorChanged || decorationsRemoved)) {
+            output.append(SECTION).append('r');
+            appendDecorations(decorations);
+        } else {
+            appendDecorations(decorations & ~lastDecorations);
+        }
+
+        lastColor = color;
+        lastDecorations = decorations;
+    }
+
+    private void appendColor(TextColor color) {
+        if (color instanceof NamedTextColor named) {
+            output.append(SECTION).append(NAMED_COLOR_CODES.get(named));
+            return;
+        }
+        int rgb = color.value();
+        output.append(SECTION).append('#');
+        for (int shift = 20; shift >= 0; shift -= 4) {
+            output.append(HEX_DIGITS[(rgb >> shift) & 0xF]);
+        }
+    }
+
+    private void appendDecorations(int decorations) {
+        for (TextDecoration decoration : TextDecoration.values()) {
+            if ((decorations & (1 << decoration.ordinal())) != 0) {
+                output.append(SECTION).append(DECORATION_CODES[decoration.ordinal()]);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return output.toString();
+    }
+}
@@ -0,0 +1,7 @@
+package com.bruhdows.minitext.component;
+
+public enum PoolingStrategy {
+    THREAD_LOCAL,
+    SHARED,
+    NONE
+}
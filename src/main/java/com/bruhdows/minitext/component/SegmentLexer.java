@@ -0,0 +1,171 @@
+package com.bruhdows.minitext.component;
+
+import com.bruhdows.minitext.formatter.FormatterType;
+import com.bruhdows.minitext.util.ColorHelper;
+
+import java.util.Set;
+
+public class SegmentLexer {
+
+    public interface Handler {
+        void text(String input, int start, int end);
+
+        void escape(char character, int offset);
+
+        void tag(String input, int start, int end);
+
+        void legacyCode(char code);
+
+        void hexColor(int rgb);
+
+        default boolean boundary(int offset) {
+            return true;
+        }
+    }
+
+    private final boolean legacyEnabled;
+    private final boolean hexEnabled;
+
+    public SegmentLexer(Set<FormatterType> enabledFormatters) {
+        this.legacyEnabled = enabledFormatters.contains(FormatterType.LEGACY);
+        this.hexEnabled = enabledFormatters.contains(FormatterType.HEX);
+    }
+
+    public void lex(String input, Handler handler) {
+        lex(input, 0, input.length(), handler);
+    }
+
+    public void lex(String input, int from, int to, Handler handler) {
+        int textStart = from;
+        int i = from;
+
+        while (i < to) {
+            if (i == textStart && !handler.boundary(i)) {
+                return;
+            }
+            int tokenEnd = scanToken(input, i, to, handler, textStart);
+            if (tokenEnd < 0) {
+                i++;
+            } else {
+                textStart = tokenEnd;
+                i = tokenEnd;
+            }
+        }
+
+        if (textStart < to) {
+            handler.text(input, textStart, to);
+        }
+    }
+
+    private int scanToken(String input, int i, int to, Handler handler, int textStart) {
+        char c = input.charAt(i);
+        switch (c) {
+            case '[' -> {
+                int close = input.indexOf(']', i + 1);
+                if (close < 0 || close >= to || close == i + 1) {
+                    return -1;
+                }
+                flushText(input, textStart, i, handler);
+                handler.tag(input, i + 1, close);
+                return close + 1;
+            }
+            case '\\' -> {
+                if (i + 1 < to) {
+                    char next = input.charAt(i + 1);
+                    if (next == '[' || next == ']') {
+                        flushText(input, textStart, i, handler);
+                        handler.escape(next, i);
+                        return i + 2;
+                    }
+                }
+                return -1;
+            }
+            case '&' -> {
+                if (i + 1 >= to) {
+                    return -1;
+                }
+                char next = input.charAt(i + 1);
+                if (next == '#' && hexEnabled) {
+                    int rgb = decodeHex(input, i + 2, 6, to);
+                    if (rgb >= 0) {
+                        flushText(input, textStart, i, handler);
+                        handler.hexColor(rgb);
+                        return i + 8;
+                    }
+                    rgb = decodeHex(input, i + 2, 3, to);
+                    if (rgb >= 0) {
+                        flushText(input, textStart, i, handler);
+                        handler.hexColor(rgb);
+                        return i + 5;
+                    }
+                    return -1;
+                }
+                if (legacyEnabled && isLegacyCode(next)) {
+                    flushText(input, textStart, i, handler);
+                    handler.legacyCode(next);
+                    return i + 2;
+                }
+                return -1;
+            }
+            case '§' -> {
+                if (i + 1 >= to) {
+                    return -1;
+                }
+                char next = input.charAt(i + 1);
+                if (isLegacyCode(next)) {
+                    flushText(input, textStart, i, handler);
+                    handler.legacyCode(next);
+                    return i + 2;
+                }
+                if (next == 'x') {
+                    int rgb = parseRepeatedHex(input, i + 2, to);
+                    if (rgb >= 0) {
+                        flushText(input, textStart, i, handler);
+                        handler.hexColor(rgb);
+                        return i + 14;
+                    }
+                }
+                return -1;
+            }
+            default -> {
+                return -1;
+            }
+        }
+    }
+
+    private void flushText(String input, int start, int end, Handler handler) {
+        if (start < end) {
+            handler.text(input, start, end);
+        }
+    }
+
+    private static int decodeHex(String input, int start, int length, int to) {
+        return start + length <= to ? ColorHelper.decodeHex(input, start, start + length) : -1;
+    }
+
+    private int parseRepeatedHex(String input, int start, int to) {
+        if (start + 12 > to) {
+            return -1;
+        }
+        int rgb = 0;
+        for (int i = start; i < start + 12; i += 2) {
+            char marker = input.charAt(i);
+            char digitChar = input.charAt(i + 1);
+            boolean translated = marker == '&' && legacyEnabled && isLegacyCode(digitChar);
+            if (marker != '§' && !translated) {
+                return -1;
+            }
+            int digit = ColorHelper.hexDigit(digitChar);
+            if (digit < 0) {
+                return -1;
+            }
+            rgb = (rgb << 4) | digit;
+        }
+        return rgb;
+    }
+
+    private static boolean isLegacyCode(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f')
+                || c == 'k' || c == 'l' || c == 'm' || c == 'n' || c == 'o' || c == 'r';
+    }
+}
@@ -2,308 +2,454 @@ package com.bruhdows.minitext.component;
 
 import com.bruhdows.minitext.MiniText;
 import com.bruhdows.minitext.formatter.FormatterType;
+import com.bruhdows.minitext.formatter.LegacyFormatter;
 import com.bruhdows.minitext.util.ColorHelper;
-import lombok.extern.java.Log;
-import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.event.ClickEvent;
-import net.kyori.adventure.text.event.HoverEvent;
+import com.bruhdows.minitext.util.TextColorPool;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextColor;
 import net.kyori.adventure.text.format.TextDecoration;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-@Log
 public class SegmentParser {
-    private static final Pattern SEGMENT_PATTERN = Pattern.compile(
-            "(?<!\\\\)\\[([^\\]]+)]|" +
-                    "\\\\(\\[|\\])|" +
-                    "§([0-9a-fklmnor])|" +
-                    "§x(§[0-9a-fA-F])(§[0-9a-fA-F])(§[0-9a-fA-F])(§[0-9a-fA-F])(§[0-9a-fA-F])(§[0-9a-fA-F])"
-    );
-
     private final MiniText miniText;
     private final ColorHelper colorHelper;
-    private final ThreadLocal<Matcher> matcher = ThreadLocal.withInitial(() -> SEGMENT_PATTERN.matcher(""));
+    private final SegmentLexer lexer;
+    private final SegmentPool segmentPool;
+    private final TagRegistry tagRegistry;
 
-    public SegmentParser(MiniText miniText) {
+    public SegmentParser(MiniText miniText, ColorHelper colorHelper, SegmentPool segmentPool) {
         this.miniText = miniText;
-        this.colorHelper = new ColorHelper();
+        this.colorHelper = colorHelper;
+        this.segmentPool = segmentPool;
+        this.tagRegistry = miniText.getTagRegistry();
+        this.lexer = new SegmentLexer(miniText.getEnabledFormatters());
     }
 
     public List<TextSegment> parseSegments(String input) {
+        return parseSegments(input, null);
+    }
+
+    public List<TextSegment> parseSegments(String input, Object context) {
+        List<TextSegment> segments = new ArrayList<>();
+        parse(input, new ParseState(context, false, segment -> segments.add(new TextSegment(segment))));
+        return segments;
+    }
+
+    public List<TextSegment> parseTemplate(String input) {
         List<TextSegment> segments = new ArrayList<>();
-        TextSegment currentSegment = SegmentPool.acquire();
+        parse(input, new ParseState(null, true, segment -> segments.add(new TextSegment(segment))));
+        return segments;
+    }
 
-        Matcher m = matcher.get();
-        m.reset(input);
-        int lastEnd = 0;
+    public void parse(String input, Object context, SegmentSink sink) {
+        parse(input, new ParseState(context, false, sink));
+    }
 
-        try {
-            while (m.find()) {
-                String plainTextBeforeMatch = input.substring(lastEnd, m.start());
-                if (!plainTextBeforeMatch.isEmpty()) {
-                    currentSegment.text = plainTextBeforeMatch;
-                    segments.add(currentSegment);
-                    currentSegment = SegmentPool.acquire().copyFrom(currentSegment);
-                }
+    public void parse(String input, Object context, SegmentSink sink, List<String> resolvedTags) {
+        ParseState state = new ParseState(context, false, sink);
+        state.resolvedTags = resolvedTags != null ? resolvedTags.iterator() : null;
+        parse(input, state);
+    }
 
-                if (m.group(1) != null) {
-                    String tag = m.group(1);
-                    TextSegment nextSegmentStyle = processBracketTag(tag, currentSegment);
-
-                    if (isNewlineTag(tag)) {
-                        TextSegment newlineSegment = SegmentPool.acquire().copyFrom(currentSegment);
-                        newlineSegment.text = "\n";
-                        segments.add(newlineSegment);
-                        SegmentPool.release(currentSegment);
-                        currentSegment = SegmentPool.acquire().copyFrom(nextSegmentStyle);
-                        currentSegment.text = "";
-                    } else {
-                        SegmentPool.release(currentSegment);
-                        currentSegment = nextSegmentStyle;
-                        currentSegment.text = "";
-                    }
-                } else if (m.group(2) != null) {
-                    currentSegment.text = m.group(2);
-                    segments.add(currentSegment);
-                    currentSegment = SegmentPool.acquire().copyFrom(currentSegment);
-                } else if (m.group(3) != null) {
-                    String code = m.group(3);
-                    processLegacyHexCode(code, currentSegment);
-                    currentSegment.text = "";
-                } else if (m.group(4) != null) {
-                    StringBuilder hexBuilder = new StringBuilder();
-                    for (int i = 4; i <= 9; i++) {
-                        String part = m.group(i);
-                        if (part != null && part.length() == 2 && part.charAt(0) == '§') {
-                            hexBuilder.append(part.charAt(1));
-                        } else {
-                            log.severe("MiniText: Malformed hex part detected: " + m.group(0));
-                            hexBuilder.append("0");
-                        }
-                    }
-                    String hexChars = hexBuilder.toString();
-                    processLegacyHexCode("x" + hexChars, currentSegment);
-                    currentSegment.text = "";
+    public void parse(String input, int from, TextSegment style, Object context, SegmentSink sink,
+                      BoundaryListener listener) {
+        ParseState state = new ParseState(context, false, sink);
+        state.currentSegment.copyFrom(style);
+        state.boundaryListener = listener;
+        parse(input, from, state);
+    }
+
+    // Parses a custom tag's output like the direct path does, leaving nested custom tags as text
+    public void parseReplacement(String replacement, TextSegment style, SegmentSink sink) {
+        ParseState state = new ParseState(null, false, sink);
+        state.currentSegment.copyFrom(style);
+        state.inCustomReplacement = true;
+        parse(replacement, 0, state);
+    }
+
+    // One entry per occurrence, in the order the parser reaches them
+    public List<CustomTag> collectCustomTags(String input) {
+        List<CustomTag> tags = new ArrayList<>();
+        if (!miniText.getEnabledFormatters().contains(FormatterType.CUSTOM)) {
+            return tags;
+        }
+        lexer.lex(input, new SegmentLexer.Handler() {
+            @Override
+            public void text(String input, int start, int end) {
+            }
+
+            @Override
+            public void escape(char character, int offset) {
+            }
+
+            @Override
+            public void tag(String input, int start, int end) {
+                int nameEnd = nameEnd(input, start, end);
+                TagRegistry.Tag registered = tagRegistry.find(input, start, nameEnd);
+                if (registered != null && registered.processor() != null) {
+                    tags.add(new CustomTag(registered, nameEnd < end ? input.substring(nameEnd + 1, end) : ""));
                 }
+            }
 
-                lastEnd = m.end();
+            @Override
+            public void legacyCode(char code) {
             }
 
-            String remainingText = input.substring(lastEnd);
-            if (!remainingText.isEmpty()) {
-                currentSegment.text = remainingText;
-                segments.add(currentSegment);
-            } else {
-                SegmentPool.release(currentSegment);
+            @Override
+            public void hexColor(int rgb) {
             }
-        } catch (Exception e) {
-            SegmentPool.release(currentSegment);
-            throw e;
-        }
+        });
+        return tags;
+    }
 
-        return segments;
+    public String stripTags(String input, Object context) {
+        PlainTextState state = new PlainTextState(context, new StringBuilder(input.length()), false);
+        lexer.lex(input, state);
+        return state.output.toString();
+    }
+
+    public int visibleLength(String input, Object context) {
+        PlainTextState state = new PlainTextState(context, null, false);
+        lexer.lex(input, state);
+        return state.length;
+    }
+
+    public VisibleText visibleText(String input, Object context) {
+        PlainTextState state = new PlainTextState(context, new StringBuilder(input.length()), true);
+        lexer.lex(input, state);
+        state.ensureCapacity(state.length + 1);
+        state.sourceIndices[state.length] = input.length();
+        return new VisibleText(state.output.toString(), state.sourceIndices);
     }
 
-    private boolean isNewlineTag(String tag) {
-        return miniText.getEnabledFormatters().contains(FormatterType.NEW_LINES) &&
-                (tag.equals("n") || tag.equals("nl") || tag.equals("br"));
+    private void parse(String input, ParseState state) {
+        parse(input, 0, state);
     }
 
-    private TextSegment processBracketTag(String tag, TextSegment currentSegment) {
-        if (isNewlineTag(tag)) {
-            return currentSegment;
+    private void parse(String input, int from, ParseState state) {
+        try {
+            lexer.lex(input, from, input.length(), state);
+            state.flushText();
+        } finally {
+            segmentPool.release(state.currentSegment);
         }
+    }
 
-        String[] parts = tag.split(":", 2);
-        String tagType = parts[0].toLowerCase();
+    private class ParseState implements SegmentLexer.Handler {
+        private final Object context;
+        private final boolean customSlots;
+        private final SegmentSink sink;
+        private Iterator<String> resolvedTags;
+        private BoundaryListener boundaryListener;
+        private TextSegment currentSegment = segmentPool.acquire();
+        private boolean inCustomReplacement;
 
-        TextSegment newStyleSegment = SegmentPool.acquire().copyFrom(currentSegment);
+        private String runSource;
+        private int runStart;
+        private int runEnd;
+        private StringBuilder runBuffer;
+        private StringBuilder translateBuffer;
+        private boolean buffered;
 
-        switch (tagType) {
-            case "reset" -> {
-                if (miniText.getEnabledFormatters().contains(FormatterType.RESET)) {
-                    newStyleSegment.reset();
-                }
+        private ParseState(Object context, boolean customSlots, SegmentSink sink) {
+            this.context = context;
+            this.customSlots = customSlots;
+            this.sink = sink;
+        }
+
+        @Override
+        public void text(String input, int start, int end) {
+            if (runSource == null) {
+                runSource = input;
+                runStart = start;
+                runEnd = end;
+                return;
             }
-            case "rainbow" -> {
-                if (miniText.getEnabledFormatters().contains(FormatterType.RAINBOW)) {
-                    processRainbow(parts, newStyleSegment);
-                }
+            if (!buffered && runSource == input && runEnd == start) {
+                runEnd = end;
+                return;
             }
-            case "gradient" -> {
-                if (miniText.getEnabledFormatters().contains(FormatterType.GRADIENTS)) {
-                    processGradient(parts, newStyleSegment);
+            if (!buffered) {
+                if (runBuffer == null) {
+                    runBuffer = new StringBuilder();
                 }
+                runBuffer.setLength(0);
+                runBuffer.append(runSource, runStart, runEnd);
+                buffered = true;
             }
-            case "hover" -> {
-                if (miniText.getEnabledFormatters().contains(FormatterType.HOVER_EVENTS)) {
-                    processHover(parts, newStyleSegment);
+            runBuffer.append(input, start, end);
+        }
+
+        @Override
+        public void escape(char character, int offset) {
+            flushText();
+            currentSegment.text = String.valueOf(character);
+            emitCurrent();
+        }
+
+        @Override
+        public void tag(String input, int start, int end) {
+            int nameEnd = nameEnd(input, start, end);
+            TagRegistry.Tag registered = tagRegistry.find(input, start, nameEnd);
+            if (!inCustomReplacement && registered != null && registered.processor() != null
+                    && miniText.getEnabledFormatters().contains(FormatterType.CUSTOM)) {
+                String content = nameEnd < end ? input.substring(nameEnd + 1, end) : "";
+                if (customSlots) {
+                    emitSlot(registered, content);
+                    return;
                 }
-            }
-            case "click" -> {
-                if (miniText.getEnabledFormatters().contains(FormatterType.CLICK_EVENTS)) {
-                    processClick(parts, newStyleSegment);
+                String replacement = resolvedTags != null
+                        ? resolvedTags.next()
+                        : registered.processor().process(registered.name(), content, context);
+                if (replacement != null) {
+                    inCustomReplacement = true;
+                    try {
+                        lexer.lex(replacement, this);
+                    } finally {
+                        inCustomReplacement = false;
+                    }
+                    return;
                 }
             }
-            default -> processSimpleTag(tagType, newStyleSegment);
-        }
-        return newStyleSegment;
-    }
 
-    private void processLegacyHexCode(String code, TextSegment currentSegment) {
-        if (code.equals("r")) {
-            if (miniText.getEnabledFormatters().contains(FormatterType.RESET)) {
-                currentSegment.reset();
+            flushText();
+            if (isNewlineTag(input, start, end)) {
+                currentSegment.text = "\n";
+                emitCurrent();
+                return;
             }
-            return;
+
+            TextSegment nextSegmentStyle = segmentPool.acquire().copyFrom(currentSegment);
+            applyTag(registered, input, start, nameEnd, end, nextSegmentStyle, translateBuffer());
+            segmentPool.release(currentSegment);
+            currentSegment = nextSegmentStyle;
+            currentSegment.text = "";
         }
 
-        if (code.startsWith("x") && miniText.getEnabledFormatters().contains(FormatterType.HEX)) {
-            try {
-                String hex = code.substring(1);
-                currentSegment.color = TextColor.fromHexString("#" + hex);
-                currentSegment.decorations.clear();
-                currentSegment.hoverEvent = null;
-                currentSegment.clickEvent = null;
-                currentSegment.rainbow = false;
-                currentSegment.gradient = false;
-                currentSegment.gradientColors = null;
-            } catch (IllegalArgumentException e) {
-                log.severe("MiniText: Error parsing hex color '" + code + "': " + e.getMessage());
+        @Override
+        public boolean boundary(int offset) {
+            if (boundaryListener == null || inCustomReplacement || runSource != null) {
+                return true;
             }
-            return;
+            return boundaryListener.boundary(offset, currentSegment);
         }
 
-        char legacyChar = code.charAt(0);
-        if (miniText.getEnabledFormatters().contains(FormatterType.LEGACY)) {
-            NamedTextColor namedColor = com.bruhdows.minitext.formatter.LegacyFormatter.getLegacyColors().get(legacyChar);
-            if (namedColor != null) {
-                currentSegment.color = namedColor;
-                currentSegment.decorations.clear();
-                currentSegment.hoverEvent = null;
-                currentSegment.clickEvent = null;
-                currentSegment.rainbow = false;
-                currentSegment.gradient = false;
-                currentSegment.gradientColors = null;
-                return;
+        @Override
+        public void legacyCode(char code) {
+            flushText();
+            processLegacyCode(code, currentSegment);
+        }
+
+        @Override
+        public void hexColor(int rgb) {
+            flushText();
+            processHexColor(rgb, currentSegment);
+        }
+
+        private void emitSlot(TagRegistry.Tag registered, String content) {
+            flushText();
+            currentSegment.text = "";
+            currentSegment.slotTag = registered.name();
+            currentSegment.slotContent = content;
+            emitCurrent();
+        }
+
+        private StringBuilder translateBuffer() {
+            if (translateBuffer == null) {
+                translateBuffer = new StringBuilder();
             }
+            return translateBuffer;
+        }
 
-            TextDecoration decoration = com.bruhdows.minitext.formatter.LegacyFormatter.getLegacyDecorations().get(legacyChar);
-            if (decoration != null) {
-                currentSegment.decorations.put(decoration, true);
+        private void flushText() {
+            if (runSource == null) {
                 return;
             }
+            String text = buffered ? runBuffer.toString() : runSource.substring(runStart, runEnd);
+            runSource = null;
+            buffered = false;
+            if (!text.isEmpty()) {
+                currentSegment.text = text;
+                emitCurrent();
+            }
         }
-    }
 
-    private TextSegment processRainbow(String[] parts, TextSegment segmentToModify) {
-        int phase = 0;
-        if (parts.length > 1) {
-            try {
-                phase = Integer.parseInt(parts[1]);
-            } catch (NumberFormatException ignored) {
-            }
+        private void emitCurrent() {
+            sink.accept(currentSegment);
+            currentSegment.text = "";
+            currentSegment.slotTag = null;
+            currentSegment.slotContent = null;
         }
-        segmentToModify.rainbow = true;
-        segmentToModify.rainbowPhase = phase;
-        segmentToModify.gradient = false;
-        segmentToModify.gradientColors = null;
-        segmentToModify.color = null;
-        segmentToModify.decorations.clear();
-        segmentToModify.hoverEvent = null;
-        segmentToModify.clickEvent = null;
-        return segmentToModify;
     }
 
-    private TextSegment processGradient(String[] parts, TextSegment segmentToModify) {
-        if (parts.length > 1) {
-            String[] colors = parts[1].split(":");
-            if (colors.length >= 2) {
-                List<TextColor> gradientColors = colorHelper.parseGradientColors(colors);
-                if (gradientColors.size() >= 2) {
-                    segmentToModify.gradient = true;
-                    segmentToModify.gradientColors = gradientColors;
-                    segmentToModify.rainbow = false;
-                    segmentToModify.color = null;
-                    segmentToModify.decorations.clear();
-                    segmentToModify.hoverEvent = null;
-                    segmentToModify.clickEvent = null;
+    private class PlainTextState implements SegmentLexer.Handler {
+        private final Object context;
+        private final StringBuilder output;
+        private int[] sourceIndices;
+        private int length;
+        private int replacementOffset = -1;
+
+        private PlainTextState(Object context, StringBuilder output, boolean trackSource) {
+            this.context = context;
+            this.output = output;
+            this.sourceIndices = trackSource ? new int[16] : null;
+        }
+
+        @Override
+        public void text(String input, int start, int end) {
+            if (output != null) {
+                output.append(input, start, end);
+            }
+            if (sourceIndices != null) {
+                ensureCapacity(length + end - start);
+                for (int i = start; i < end; i++) {
+                    sourceIndices[length + i - start] = replacementOffset >= 0 ? replacementOffset : i;
                 }
             }
+            length += end - start;
         }
-        return segmentToModify;
-    }
 
-    private TextSegment processHover(String[] parts, TextSegment segmentToModify) {
-        if (parts.length > 1) {
-            String[] hoverParts = parts[1].split(":", 2);
-            if (hoverParts.length == 2) {
-                String hoverType = hoverParts[0];
-                String hoverValue = hoverParts[1];
-                if (hoverValue.startsWith("'") && hoverValue.endsWith("'") && hoverValue.length() > 1) {
-                    hoverValue = hoverValue.substring(1, hoverValue.length() - 1);
-                }
+        @Override
+        public void escape(char character, int offset) {
+            append(character, replacementOffset >= 0 ? replacementOffset : offset);
+        }
 
-                if ("show_text".equals(hoverType)) {
-                    segmentToModify.hoverEvent = HoverEvent.showText(Component.text(hoverValue));
+        @Override
+        public void tag(String input, int start, int end) {
+            int nameEnd = nameEnd(input, start, end);
+            TagRegistry.Tag registered = tagRegistry.find(input, start, nameEnd);
+            if (replacementOffset < 0 && registered != null && registered.processor() != null
+                    && miniText.getEnabledFormatters().contains(FormatterType.CUSTOM)) {
+                String content = nameEnd < end ? input.substring(nameEnd + 1, end) : "";
+                String replacement = registered.processor().process(registered.name(), content, context);
+                if (replacement != null) {
+                    replacementOffset = start - 1;
+                    try {
+                        lexer.lex(replacement, this);
+                    } finally {
+                        replacementOffset = -1;
+                    }
+                    return;
                 }
             }
+            if (isNewlineTag(input, start, end)) {
+                append('\n', replacementOffset >= 0 ? replacementOffset : start - 1);
+            }
         }
-        return segmentToModify;
-    }
 
-    private TextSegment processClick(String[] parts, TextSegment segmentToModify) {
-        if (parts.length > 1) {
-            String[] clickParts = parts[1].split(":", 2);
-            if (clickParts.length == 2) {
-                String clickType = clickParts[0];
-                String clickValue = clickParts[1];
-                if (clickValue.startsWith("'") && clickValue.endsWith("'") && clickValue.length() > 1) {
-                    clickValue = clickValue.substring(1, clickValue.length() - 1);
-                }
+        @Override
+        public void legacyCode(char code) {
+        }
+
+        @Override
+        public void hexColor(int rgb) {
+        }
 
-                segmentToModify.clickEvent = switch (clickType) {
-                    case "open_url" -> ClickEvent.openUrl(clickValue);
-                    case "run_command" -> ClickEvent.runCommand(clickValue);
-                    case "suggest_command" -> ClickEvent.suggestCommand(clickValue);
-                    case "copy_to_clipboard" -> ClickEvent.copyToClipboard(clickValue);
-                    default -> segmentToModify.clickEvent;
-                };
+        private void append(char character, int sourceIndex) {
+            if (output != null) {
+                output.append(character);
+            }
+            if (sourceIndices != null) {
+                ensureCapacity(length + 1);
+                sourceIndices[length] = sourceIndex;
+            }
+            length++;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > sourceIndices.length) {
+                sourceIndices = Arrays.copyOf(sourceIndices, Math.max(capacity, sourceIndices.length * 2));
             }
         }
-        return segmentToModify;
     }
 
-    private void processSimpleTag(String tagType, TextSegment segmentToModify) {
-        if (miniText.getEnabledFormatters().contains(FormatterType.NAMED_COLORS)) {
-            NamedTextColor namedColor = colorHelper.getNamedColor(tagType);
-            if (namedColor != null) {
-                segmentToModify.color = namedColor;
-                segmentToModify.clearDecorations();
-                return;
+    private boolean isNewlineTag(String input, int start, int end) {
+        if (!miniText.getEnabledFormatters().contains(FormatterType.NEW_LINES)) {
+            return false;
+        }
+        return switch (end - start) {
+            case 1 -> input.charAt(start) == 'n';
+            case 2 -> input.startsWith("nl", start) || input.startsWith("br", start);
+            default -> false;
+        };
+    }
+
+    private String translateTagContent(String tag, StringBuilder buffer) {
+        if (tag.indexOf('&') < 0) {
+            return tag;
+        }
+        if (miniText.getEnabledFormatters().contains(FormatterType.LEGACY)) {
+            tag = miniText.getLegacyFormatter().processLegacy(tag, buffer);
+        }
+        if (miniText.getEnabledFormatters().contains(FormatterType.HEX)) {
+            tag = miniText.getHexFormatter().processHex(tag, buffer);
+        }
+        return tag;
+    }
+
+    private void applyTag(TagRegistry.Tag registered, String input, int start, int nameEnd, int end,
+                          TextSegment style, StringBuilder buffer) {
+        if (registered != null && registered.handler() != null) {
+            if (miniText.getEnabledFormatters().contains(registered.type())) {
+                String argument = nameEnd < end
+                        ? translateTagContent(input.substring(nameEnd + 1, end), buffer)
+                        : null;
+                registered.handler().apply(style, argument);
             }
+            return;
         }
 
         if (miniText.getEnabledFormatters().contains(FormatterType.HEX)) {
-            TextColor hexColor = colorHelper.parseHexFromTag(tagType);
+            TextColor hexColor = colorHelper.parseHexFromTag(input, start, nameEnd);
             if (hexColor != null) {
-                segmentToModify.color = hexColor;
-                segmentToModify.clearDecorations();
-                return;
+                style.color = hexColor;
+                style.clearDecorations();
             }
         }
+    }
 
-        if (miniText.getEnabledFormatters().contains(FormatterType.DECORATIONS)) {
-            TextDecoration decoration = colorHelper.getDecoration(tagType);
-            if (decoration != null) {
-                segmentToModify.decorations.put(decoration, true);
+    private static int nameEnd(String input, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (input.charAt(i) == ':') {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private void processLegacyCode(char code, TextSegment currentSegment) {
+        if (code == 'r') {
+            if (miniText.getEnabledFormatters().contains(FormatterType.RESET)) {
+                currentSegment.reset();
+            }
+            return;
+        }
+
+        if (miniText.getEnabledFormatters().contains(FormatterType.LEGACY)) {
+            NamedTextColor namedColor = LegacyFormatter.getLegacyColors().get(code);
+            if (namedColor != null) {
+                currentSegment.color = namedColor;
+                currentSegment.clearDecorations();
                 return;
             }
+
+            TextDecoration decoration = LegacyFormatter.getLegacyDecorations().get(code);
+            if (decoration != null) {
+                currentSegment.decorate(decoration);
+            }
         }
     }
-}
\ No newline at end of file
+
+    private void processHexColor(int rgb, TextSegment currentSegment) {
+        if (miniText.getEnabledFormatters().contains(FormatterType.HEX)) {
+            currentSegment.color = TextColorPool.color(rgb);
+            currentSegment.clearDecorations();
+        }
+    }
+
+    public record CustomTag(TagRegistry.Tag tag, String content) {}
+}
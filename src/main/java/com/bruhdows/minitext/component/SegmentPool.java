@@ -2,21 +2,91 @@ package com.bruhdows.minitext.component;
 
 import java.util.ArrayDeque;
 import java.util.Queue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
-public class SegmentPool {
-    private static final ThreadLocal<Queue<TextSegment>> POOL = 
-        ThreadLocal.withInitial(ArrayDeque::new);
-    private static final int MAX_POOL_SIZE = 10;
-    
-    public static TextSegment acquire() {
-        Queue<TextSegment> pool = POOL.get();
-        TextSegment segment = pool.poll();
-        return segment != null ? segment.reset() : new TextSegment();
+public abstract class SegmentPool {
+    private static final SegmentPool THREAD_LOCAL = new ThreadLocalPool();
+    private static final SegmentPool NONE = new NoPool();
+
+    public static SegmentPool of(PoolingStrategy strategy) {
+        return switch (strategy) {
+            case THREAD_LOCAL -> THREAD_LOCAL;
+            case SHARED -> new SharedPool();
+            case NONE -> NONE;
+        };
     }
-    
-    public static void release(TextSegment segment) {
-        if (segment != null && POOL.get().size() < MAX_POOL_SIZE) {
-            POOL.get().offer(segment);
+
+    public abstract TextSegment acquire();
+
+    public abstract void release(TextSegment segment);
+
+    private static final class ThreadLocalPool extends SegmentPool {
+        private static final ThreadLocal<Queue<TextSegment>> POOL =
+                ThreadLocal.withInitial(ArrayDeque::new);
+        private static final int MAX_POOL_SIZE = 10;
+
+        @Override
+        public TextSegment acquire() {
+            TextSegment segment = POOL.get().poll();
+            return segment != null ? segment.reset() : new TextSegment();
+        }
+
+        @Override
+        public void release(TextSegment segment) {
+            Queue<TextSegment> pool = POOL.get();
+            if (segment != null && pool.size() < MAX_POOL_SIZE) {
+                pool.offer(segment);
+            }
+        }
+    }
+
+    private static final class SharedPool extends SegmentPool {
+        private static final int SIZE = 64;
+        private static final int PROBES = 4;
+
+        private final AtomicReferenceArray<TextSegment> slots = new AtomicReferenceArray<>(SIZE);
+
+        @Override
+        public TextSegment acquire() {
+            int start = probeStart();
+            for (int i = 0; i < PROBES; i++) {
+                int index = (start + i) & (SIZE - 1);
+                TextSegment segment = slots.get(index);
+                if (segment != null && slots.compareAndSet(index, segment, null)) {
+                    return segment.reset();
+                }
+            }
+            return new TextSegment();
+        }
+
+        @Override
+        public void release(TextSegment segment) {
+            if (segment == null) {
+                return;
+            }
+            int start = probeStart();
+            for (int i = 0; i < PROBES; i++) {
+                int index = (start + i) & (SIZE - 1);
+                if (slots.get(index) == null && slots.compareAndSet(index, null, segment)) {
+                    return;
+                }
+            }
+        }
+
+        private static int probeStart() {
+            int hash = Thread.currentThread().hashCode();
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    private static final class NoPool extends SegmentPool {
+        @Override
+        public TextSegment acquire() {
+            return new TextSegment();
+        }
+
+        @Override
+        public void release(TextSegment segment) {
         }
     }
 }
@@ -0,0 +1,7 @@
+package com.bruhdows.minitext.component;
+
+@FunctionalInterface
+public interface SegmentSink {
+    // The segment is reused by the parser once this returns; copy it with new TextSegment(segment) to keep it
+    void accept(TextSegment segment);
+}
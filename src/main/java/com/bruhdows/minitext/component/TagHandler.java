@@ -0,0 +1,7 @@
+package com.bruhdows.minitext.component;
+
+@FunctionalInterface
+public interface TagHandler {
+    // Argument is the text after the first ':' in the tag, or null when there is none
+    void apply(TextSegment style, String argument);
+}
@@ -0,0 +1,153 @@
+package com.bruhdows.minitext.component;
+
+import com.bruhdows.minitext.formatter.FormatterType;
+import com.bruhdows.minitext.processor.ComponentProcessor;
+import com.bruhdows.minitext.util.ColorHelper;
+
+import java.util.Arrays;
+
+public class TagRegistry {
+    private final Node root;
+
+    private TagRegistry(Node root) {
+        this.root = root;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Tag find(String name) {
+        return find(name, 0, name.length());
+    }
+
+    public Tag find(String input, int start, int end) {
+        Node node = root;
+        for (int i = start; i < end && node != null; i++) {
+            node = node.child(lower(input.charAt(i)));
+        }
+        return node != null ? node.tag : null;
+    }
+
+    private static char lower(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    public static final class Tag {
+        private final String name;
+        private final FormatterType type;
+        private final TagHandler handler;
+        private final ComponentProcessor processor;
+        private final boolean allowMarkup;
+
+        private Tag(String name, FormatterType type, TagHandler handler, ComponentProcessor processor,
+                    boolean allowMarkup) {
+            this.name = name;
+            this.type = type;
+            this.handler = handler;
+            this.processor = processor;
+            this.allowMarkup = allowMarkup;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public FormatterType type() {
+            return type;
+        }
+
+        public TagHandler handler() {
+            return handler;
+        }
+
+        public ComponentProcessor processor() {
+            return processor;
+        }
+
+        public boolean allowsMarkup() {
+            return allowMarkup;
+        }
+    }
+
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private Tag tag;
+
+        private Node child(char key) {
+            char[] keys = this.keys;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node getOrCreate(char key) {
+            Node child = child(key);
+            if (child == null) {
+                child = new Node();
+                keys = Arrays.copyOf(keys, keys.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                keys[keys.length - 1] = key;
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+    }
+
+    public static class Builder {
+        private final Node root = new Node();
+
+        public Builder defaults(ColorHelper colorHelper) {
+            BuiltinTags.register(this, colorHelper);
+            return this;
+        }
+
+        public Builder tag(String name, FormatterType type, TagHandler handler) {
+            Node node = node(name);
+            Tag existing = node.tag;
+            node.tag = existing == null
+                    ? new Tag(key(name), type, handler, null, false)
+                    : new Tag(existing.name, type, handler, existing.processor, existing.allowMarkup);
+            return this;
+        }
+
+        public Builder processor(String name, ComponentProcessor processor, boolean allowMarkup) {
+            Node node = node(name);
+            Tag existing = node.tag;
+            node.tag = existing == null
+                    ? new Tag(key(name), null, null, processor, allowMarkup)
+                    : new Tag(existing.name, existing.type, existing.handler, processor, allowMarkup);
+            return this;
+        }
+
+        public TagRegistry build() {
+            return new TagRegistry(root);
+        }
+
+        private Node node(String name) {
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Tag name cannot be empty");
+            }
+            Node node = root;
+            for (int i = 0; i < name.length(); i++) {
+                node = node.getOrCreate(lower(name.charAt(i)));
+            }
+            return node;
+        }
+
+        private static String key(String name) {
+            char[] chars = name.toCharArray();
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = lower(chars[i]);
+            }
+            return new String(chars);
+        }
+    }
+}
@@ -5,32 +5,34 @@ import net.kyori.adventure.text.event.HoverEvent;
 import net.kyori.adventure.text.format.TextColor;
 import net.kyori.adventure.text.format.TextDecoration;
 
-import java.util.EnumMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 
 public class TextSegment {
     String text = "";
     TextColor color;
-    Map<TextDecoration, Boolean> decorations = new EnumMap<>(TextDecoration.class);
+    int decorations;
     HoverEvent<?> hoverEvent;
     ClickEvent clickEvent;
     boolean rainbow = false;
     int rainbowPhase = 0;
     boolean gradient = false;
     List<TextColor> gradientColors;
+    String slotTag;
+    String slotContent;
 
     public TextSegment() {}
 
     public TextSegment(TextSegment other) {
         copyFrom(other);
         this.text = other.text;
+        this.slotTag = other.slotTag;
+        this.slotContent = other.slotContent;
     }
 
     public TextSegment copyFrom(TextSegment other) {
         this.color = other.color;
-        this.decorations.clear();
-        this.decorations.putAll(other.decorations);
+        this.decorations = other.decorations;
         this.hoverEvent = other.hoverEvent;
         this.clickEvent = other.clickEvent;
         this.rainbow = other.rainbow;
@@ -43,18 +45,82 @@ public class TextSegment {
     public TextSegment reset() {
         this.text = "";
         this.color = null;
-        this.decorations.clear();
+        this.decorations = 0;
         this.hoverEvent = null;
         this.clickEvent = null;
         this.rainbow = false;
         this.rainbowPhase = 0;
         this.gradient = false;
         this.gradientColors = null;
+        this.slotTag = null;
+        this.slotContent = null;
         return this;
     }
 
+    public String text() {
+        return text;
+    }
+
+    public TextColor color() {
+        return color;
+    }
+
+    public TextSegment color(TextColor color) {
+        this.color = color;
+        return this;
+    }
+
+    public HoverEvent<?> hoverEvent() {
+        return hoverEvent;
+    }
+
+    public TextSegment hoverEvent(HoverEvent<?> hoverEvent) {
+        this.hoverEvent = hoverEvent;
+        return this;
+    }
+
+    public ClickEvent clickEvent() {
+        return clickEvent;
+    }
+
+    public TextSegment clickEvent(ClickEvent clickEvent) {
+        this.clickEvent = clickEvent;
+        return this;
+    }
+
+    public boolean isSlot() {
+        return slotTag != null;
+    }
+
+    public String slotTag() {
+        return slotTag;
+    }
+
+    public String slotContent() {
+        return slotContent;
+    }
+
+    public boolean hasDecoration(TextDecoration decoration) {
+        return (decorations & (1 << decoration.ordinal())) != 0;
+    }
+
+    public void decorate(TextDecoration decoration) {
+        decorations |= 1 << decoration.ordinal();
+    }
+
+    public boolean hasSameStyle(TextSegment other) {
+        return decorations == other.decorations
+                && rainbow == other.rainbow
+                && rainbowPhase == other.rainbowPhase
+                && gradient == other.gradient
+                && Objects.equals(color, other.color)
+                && Objects.equals(hoverEvent, other.hoverEvent)
+                && Objects.equals(clickEvent, other.clickEvent)
+                && Objects.equals(gradientColors, other.gradientColors);
+    }
+
     public void clearDecorations() {
-        decorations.clear();
+        decorations = 0;
         hoverEvent = null;
         clickEvent = null;
         rainbow = false;
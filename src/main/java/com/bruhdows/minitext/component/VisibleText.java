@@ -0,0 +1,32 @@
+package com.bruhdows.minitext.component;
+
+public class VisibleText {
+    private final String text;
+    private final int[] sourceIndices;
+
+    VisibleText(String text, int[] sourceIndices) {
+        this.text = text;
+        this.sourceIndices = sourceIndices;
+    }
+
+    public String text() {
+        return text;
+    }
+
+    public int length() {
+        return text.length();
+    }
+
+    // Index of the source character that produced the visible character; length() maps to the end of the input
+    public int sourceIndex(int visibleIndex) {
+        if (visibleIndex < 0 || visibleIndex > text.length()) {
+            throw new IndexOutOfBoundsException("Visible index out of range: " + visibleIndex);
+        }
+        return sourceIndices[visibleIndex];
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
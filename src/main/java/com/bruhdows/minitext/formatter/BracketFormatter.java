@@ -1,41 +1,48 @@
 package com.bruhdows.minitext.formatter;
 
+import com.bruhdows.minitext.component.TagRegistry;
+import com.bruhdows.minitext.processor.AsyncComponentProcessor;
 import com.bruhdows.minitext.processor.ComponentProcessor;
 
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 public class BracketFormatter {
-    private static final Pattern BRACKET_PATTERN = Pattern.compile("(?<!\\\\)\\[([^]]+)]");
     private final Map<String, ComponentProcessor> customProcessors;
+    private final Set<String> markupTags;
+    private final Map<String, AsyncComponentProcessor> asyncProcessors;
 
     public BracketFormatter(Map<String, ComponentProcessor> customProcessors) {
+        this(customProcessors, Set.of());
+    }
+
+    public BracketFormatter(Map<String, ComponentProcessor> customProcessors, Set<String> markupTags) {
+        this(customProcessors, markupTags, Map.of());
+    }
+
+    public BracketFormatter(Map<String, ComponentProcessor> customProcessors, Set<String> markupTags,
+                            Map<String, AsyncComponentProcessor> asyncProcessors) {
         this.customProcessors = customProcessors;
+        this.markupTags = markupTags;
+        this.asyncProcessors = asyncProcessors;
+    }
+
+    public ComponentProcessor getProcessor(String tagType) {
+        return customProcessors.get(tagType);
+    }
+
+    public boolean allowsMarkup(String tagType) {
+        return markupTags.contains(tagType);
     }
 
-    public String processCustomComponents(String input, Object context) {
-        Matcher matcher = BRACKET_PATTERN.matcher(input);
-        StringBuilder sb = new StringBuilder();
-
-        while (matcher.find()) {
-            String tag = matcher.group(1);
-            String[] parts = tag.split(":", 2);
-            String tagType = parts[0].toLowerCase();
-
-            ComponentProcessor processor = customProcessors.get(tagType);
-            if (processor != null) {
-                String content = parts.length > 1 ? parts[1] : "";
-                String replacement = processor.process(tagType, content, context);
-                if (replacement != null) {
-                    matcher.appendReplacement(sb, Matcher.quoteReplacement(replacement));
-                    continue;
-                }
-            }
-
-            matcher.appendReplacement(sb, Matcher.quoteReplacement(matcher.group(0)));
+    public CompletableFuture<String> processCustomTagAsync(TagRegistry.Tag tag, String content, Object context) {
+        AsyncComponentProcessor asyncProcessor = asyncProcessors.get(tag.name());
+        if (asyncProcessor != null) {
+            CompletableFuture<String> future = asyncProcessor.process(tag.name(), content, context);
+            return Objects.requireNonNull(future, () -> "Async processor for tag " + tag.name() + " returned a null future");
         }
-        matcher.appendTail(sb);
-        return sb.toString();
+        return CompletableFuture.completedFuture(tag.processor().process(tag.name(), content, context));
     }
-}
\ No newline at end of file
+}
@@ -1,61 +1,57 @@
 package com.bruhdows.minitext.formatter;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import com.bruhdows.minitext.util.ColorHelper;
 
 public class HexFormatter {
-    private static final Pattern HEX_PATTERN = Pattern.compile("&#([0-9a-fA-F]{6})");
-    private static final Pattern SHORT_HEX_PATTERN = Pattern.compile("&#([0-9a-fA-F]{3})");
-
-    private static final ThreadLocal<StringBuilder> BUILDER =
-            ThreadLocal.withInitial(() -> new StringBuilder(32));
 
     public String processHex(String input) {
-        input = processFullHex(input);
-        input = processShortHex(input);
-        return input;
+        if (input.indexOf("&#") < 0) {
+            return input;
+        }
+        return processHex(input, new StringBuilder(input.length() + 32));
     }
 
-    private String processFullHex(String input) {
-        Matcher matcher = HEX_PATTERN.matcher(input);
-        StringBuilder sb = BUILDER.get();
-        sb.setLength(0);
+    public String processHex(String input, StringBuilder buffer) {
+        int index = input.indexOf("&#");
+        if (index < 0) {
+            return input;
+        }
 
-        while (matcher.find()) {
-            String hex = matcher.group(1);
-            StringBuilder replacement = new StringBuilder("§x");
-            for (char c : hex.toCharArray()) {
-                replacement.append('§').append(c);
+        buffer.setLength(0);
+        int last = 0;
+        for (; index >= 0; index = input.indexOf("&#", index + 1)) {
+            int digits = hexDigits(input, index + 2);
+            if (digits < 3) {
+                continue;
             }
-            matcher.appendReplacement(sb, replacement.toString());
-        }
-        matcher.appendTail(sb);
-        return sb.toString();
-    }
 
-    private String processShortHex(String input) {
-        Matcher matcher = SHORT_HEX_PATTERN.matcher(input);
-        StringBuilder sb = BUILDER.get();
-        sb.setLength(0);
-
-        while (matcher.find()) {
-            String shortHex = matcher.group(1);
-            String fullHex = expandShortHex(shortHex);
-            StringBuilder replacement = new StringBuilder("§x");
-            for (char c : fullHex.toCharArray()) {
-                replacement.append('§').append(c);
+            buffer.append(input, last, index).append('§').append('x');
+            if (digits == 6) {
+                for (int i = index + 2; i < index + 8; i++) {
+                    buffer.append('§').append(input.charAt(i));
+                }
+            } else {
+                for (int i = index + 2; i < index + 5; i++) {
+                    char c = input.charAt(i);
+                    buffer.append('§').append(c).append('§').append(c);
+                }
             }
-            matcher.appendReplacement(sb, replacement.toString());
+            last = index + 2 + digits;
+            index = last - 1;
+        }
+
+        if (last == 0) {
+            return input;
         }
-        matcher.appendTail(sb);
-        return sb.toString();
+        buffer.append(input, last, input.length());
+        return buffer.toString();
     }
 
-    private String expandShortHex(String shortHex) {
-        StringBuilder expanded = new StringBuilder(6);
-        for (char c : shortHex.toCharArray()) {
-            expanded.append(c).append(c);
+    private static int hexDigits(String input, int start) {
+        int count = 0;
+        while (count < 6 && start + count < input.length() && ColorHelper.hexDigit(input.charAt(start + count)) >= 0) {
+            count++;
         }
-        return expanded.toString();
+        return count == 6 ? 6 : Math.min(count, 3);
     }
 }
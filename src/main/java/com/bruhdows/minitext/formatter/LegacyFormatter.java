@@ -5,11 +5,8 @@ import net.kyori.adventure.text.format.TextDecoration;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class LegacyFormatter {
-    private static final Pattern LEGACY_PATTERN = Pattern.compile("&([0-9a-fklmnor])");
     private static final Map<Character, NamedTextColor> LEGACY_COLORS = new HashMap<>();
     private static final Map<Character, TextDecoration> LEGACY_DECORATIONS = new HashMap<>();
     
@@ -44,16 +41,36 @@ public class LegacyFormatter {
     }
     
     public String processLegacy(String input) {
-        Matcher matcher = LEGACY_PATTERN.matcher(input);
-        StringBuilder sb = new StringBuilder();
-        
-        while (matcher.find()) {
-            char code = matcher.group(1).charAt(0);
-            String replacement = "§" + code;
-            matcher.appendReplacement(sb, replacement);
+        if (input.indexOf('&') < 0) {
+            return input;
+        }
+        return processLegacy(input, new StringBuilder(input.length()));
+    }
+
+    public String processLegacy(String input, StringBuilder buffer) {
+        int index = input.indexOf('&');
+        if (index < 0) {
+            return input;
+        }
+
+        buffer.setLength(0);
+        int last = 0;
+        for (; index >= 0 && index + 1 < input.length(); index = input.indexOf('&', index + 1)) {
+            if (isLegacyCode(input.charAt(index + 1))) {
+                buffer.append(input, last, index).append('§');
+                last = index + 1;
+            }
+        }
+
+        if (last == 0) {
+            return input;
         }
-        matcher.appendTail(sb);
-        return sb.toString();
+        buffer.append(input, last, input.length());
+        return buffer.toString();
+    }
+
+    private static boolean isLegacyCode(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'k' && c <= 'o') || c == 'r';
     }
     
     public static Map<Character, NamedTextColor> getLegacyColors() {
@@ -0,0 +1,7 @@
+package com.bruhdows.minitext.layout;
+
+public enum Alignment {
+    LEFT,
+    CENTER,
+    RIGHT
+}
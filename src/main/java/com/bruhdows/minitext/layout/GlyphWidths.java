@@ -0,0 +1,36 @@
+package com.bruhdows.minitext.layout;
+
+import java.util.Arrays;
+
+public final class GlyphWidths {
+    // Advance of each ASCII glyph in the default font, including the 1px gap after it
+    private static final byte[] ADVANCES = new byte[128];
+    private static final int DEFAULT_ADVANCE = 6;
+
+    static {
+        Arrays.fill(ADVANCES, (byte) DEFAULT_ADVANCE);
+        set(4, ' ');
+        set(2, '!', '\'', ',', '.', ':', ';', 'i', '|');
+        set(3, '`', 'l');
+        set(4, '"', '(', ')', '*', 'I', '[', ']', 't', '{', '}');
+        set(5, '<', '>', 'f', 'k');
+        set(7, '@', '~');
+    }
+
+    private GlyphWidths() {}
+
+    private static void set(int advance, char... characters) {
+        for (char character : characters) {
+            ADVANCES[character] = (byte) advance;
+        }
+    }
+
+    public static int advance(char character, boolean bold) {
+        int advance = character < ADVANCES.length ? ADVANCES[character] : DEFAULT_ADVANCE;
+        return bold ? advance + 1 : advance;
+    }
+
+    public static int spaceAdvance() {
+        return ADVANCES[' '];
+    }
+}
@@ -0,0 +1,242 @@
+package com.bruhdows.minitext.layout;
+
+import com.bruhdows.minitext.MiniText;
+import com.bruhdows.minitext.component.ComponentBuilder;
+import com.bruhdows.minitext.component.TextSegment;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TextLayout {
+    private final MiniText miniText;
+    private final ComponentBuilder componentBuilder;
+
+    public TextLayout(MiniText miniText) {
+        this.miniText = miniText;
+        this.componentBuilder = miniText.getComponentBuilder();
+    }
+
+    public int width(String input) {
+        return width(input, null);
+    }
+
+    public int width(String input, Object context) {
+        int[] widths = new int[2];
+        miniText.getSegmentParser().parse(input, context, segment -> {
+            String text = segment.text();
+            boolean bold = segment.hasDecoration(TextDecoration.BOLD);
+            // Whitespace inside gradients and rainbows is emitted without the segment's decorations
+            boolean plainSpaces = ComponentBuilder.hasColorRuns(segment);
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '\n') {
+                    widths[0] = Math.max(widths[0], widths[1]);
+                    widths[1] = 0;
+                } else {
+                    widths[1] += GlyphWidths.advance(c, bold && !(plainSpaces && c == ' '));
+                }
+            }
+        });
+        return Math.max(widths[0], widths[1]);
+    }
+
+    public List<Component> wrap(String input, int maxWidth) {
+        return layout(input, null, maxWidth, Alignment.LEFT);
+    }
+
+    public List<Component> center(String input, int lineWidth) {
+        return layout(input, null, lineWidth, Alignment.CENTER);
+    }
+
+    public List<Component> layout(String input, int maxWidth, Alignment alignment) {
+        return layout(input, null, maxWidth, alignment);
+    }
+
+    public List<Component> layout(String input, Object context, int maxWidth, Alignment alignment) {
+        if (maxWidth <= 0) {
+            throw new IllegalArgumentException("Width must be positive");
+        }
+
+        LineBreaker breaker = new LineBreaker(maxWidth);
+        miniText.getSegmentParser().parse(input, context, segment -> appendSegment(breaker, segment));
+        breaker.finish();
+
+        List<Component> lines = new ArrayList<>(breaker.lines.size());
+        for (Line line : breaker.lines) {
+            lines.add(buildLine(line, maxWidth, alignment));
+        }
+        return lines;
+    }
+
+    private void appendSegment(LineBreaker breaker, TextSegment segment) {
+        String text = segment.text();
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        componentBuilder.forEachStyleRun(segment, (start, end, style) -> {
+            boolean bold = style.hasDecoration(TextDecoration.BOLD);
+            for (int i = start; i < end; i++) {
+                breaker.append(text.charAt(i), style, bold);
+            }
+        });
+    }
+
+    private Component buildLine(Line line, int maxWidth, Alignment alignment) {
+        TextComponent.@NotNull Builder builder = Component.text();
+        int padding = switch (alignment) {
+            case LEFT -> 0;
+            case CENTER -> (maxWidth - line.width) / 2;
+            case RIGHT -> maxWidth - line.width;
+        };
+        int spaces = Math.max(0, Math.round(padding / (float) GlyphWidths.spaceAdvance()));
+        if (spaces > 0 && !line.isEmpty()) {
+            builder.append(Component.text(" ".repeat(spaces)));
+        }
+        for (Run run : line.runs) {
+            builder.append(Component.text(run.text.toString()).style(run.style));
+        }
+        return componentBuilder.finish(builder.build());
+    }
+
+    private static final class Run {
+        private final Style style;
+        private final boolean bold;
+        private final StringBuilder text = new StringBuilder();
+
+        private Run(Style style, boolean bold) {
+            this.style = style;
+            this.bold = bold;
+        }
+    }
+
+    private static final class Line {
+        private final List<Run> runs = new ArrayList<>();
+        private int width;
+
+        private void append(char c, Style style, boolean bold, int advance) {
+            Run last = runs.isEmpty() ? null : runs.get(runs.size() - 1);
+            if (last == null || !last.style.equals(style)) {
+                last = new Run(style, bold);
+                runs.add(last);
+            }
+            last.text.append(c);
+            width += advance;
+        }
+
+        private void appendAll(Line other) {
+            for (Run run : other.runs) {
+                Run last = runs.isEmpty() ? null : runs.get(runs.size() - 1);
+                if (last != null && last.style.equals(run.style)) {
+                    last.text.append(run.text);
+                } else {
+                    runs.add(run);
+                }
+            }
+            width += other.width;
+        }
+
+        private void trimTrailingSpaces() {
+            while (!runs.isEmpty()) {
+                Run last = runs.get(runs.size() - 1);
+                StringBuilder text = last.text;
+                while (text.length() > 0 && text.charAt(text.length() - 1) == ' ') {
+                    text.setLength(text.length() - 1);
+                    width -= GlyphWidths.advance(' ', last.bold);
+                }
+                if (text.length() > 0) {
+                    return;
+                }
+                runs.remove(runs.size() - 1);
+            }
+        }
+
+        private boolean isEmpty() {
+            return runs.isEmpty();
+        }
+    }
+
+    private static final class LineBreaker {
+        private final int maxWidth;
+        private final List<Line> lines = new ArrayList<>();
+        private Line line = new Line();
+        private Line word = new Line();
+        private boolean wrapped;
+
+        private LineBreaker(int maxWidth) {
+            this.maxWidth = maxWidth;
+        }
+
+        private void append(char c, Style style, boolean bold) {
+            if (c == '\n') {
+                flushWord();
+                endLine(false);
+                return;
+            }
+
+            int advance = GlyphWidths.advance(c, bold);
+            if (c != ' ') {
+                word.append(c, style, bold, advance);
+                return;
+            }
+
+            flushWord();
+            if (wrapped && line.isEmpty()) {
+                return;
+            }
+            if (line.width + advance > maxWidth) {
+                endLine(true);
+                return;
+            }
+            line.append(c, style, bold, advance);
+        }
+
+        private void flushWord() {
+            if (word.isEmpty()) {
+                return;
+            }
+            if (line.width + word.width > maxWidth && !line.isEmpty()) {
+                endLine(true);
+            }
+            if (word.width <= maxWidth) {
+                line.appendAll(word);
+            } else {
+                splitWord();
+            }
+            word = new Line();
+        }
+
+        private void splitWord() {
+            for (Run run : word.runs) {
+                for (int i = 0; i < run.text.length(); i++) {
+                    char c = run.text.charAt(i);
+                    int advance = GlyphWidths.advance(c, run.bold);
+                    if (line.width + advance > maxWidth && !line.isEmpty()) {
+                        endLine(true);
+                    }
+                    line.append(c, run.style, run.bold, advance);
+                }
+            }
+        }
+
+        private void endLine(boolean wrap) {
+            if (wrap) {
+                line.trimTrailingSpaces();
+            }
+            lines.add(line);
+            line = new Line();
+            wrapped = wrap;
+        }
+
+        private void finish() {
+            flushWord();
+            if (!line.isEmpty() || !wrapped) {
+                lines.add(line);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.bruhdows.minitext.metrics;
+
+public interface MiniTextMetrics {
+    MiniTextMetrics NONE = new MiniTextMetrics() {};
+
+    enum Operation {
+        DESERIALIZE,
+        DESERIALIZE_LEGACY,
+        COMPILE,
+        SERIALIZE
+    }
+
+    enum Stage {
+        // Lexing and style resolution, including time spent inside custom processors
+        PARSE,
+        // Building Adventure components from parsed segments
+        BUILD,
+        // Writing parsed segments straight to a legacy string
+        LEGACY_WRITE,
+        // FormattedText.legacyString() serializing a finished component
+        LEGACY_SERIALIZE,
+        // Serializing a component back to MiniText markup
+        SERIALIZE
+    }
+
+    enum Cache {
+        TEMPLATE,
+        SERIALIZATION
+    }
+
+    // Length of the markup passed in, or of the markup produced for SERIALIZE
+    default void recordCall(Operation operation, int length) {}
+
+    default void recordSegments(int count) {}
+
+    default void recordComponents(int count) {}
+
+    default void recordCacheHit(Cache cache) {}
+
+    default void recordCacheMiss(Cache cache) {}
+
+    default void recordStage(Stage stage, long nanos) {}
+
+    default void recordProcessor(String tag, long nanos) {}
+}
@@ -0,0 +1,30 @@
+package com.bruhdows.minitext.metrics;
+
+import com.bruhdows.minitext.component.SegmentSink;
+import com.bruhdows.minitext.component.TextSegment;
+
+public class TimedSegmentSink implements SegmentSink {
+    private final SegmentSink delegate;
+    private long nanos;
+    private int segments;
+
+    public TimedSegmentSink(SegmentSink delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void accept(TextSegment segment) {
+        long start = System.nanoTime();
+        delegate.accept(segment);
+        nanos += System.nanoTime() - start;
+        segments++;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+
+    public int segments() {
+        return segments;
+    }
+}
@@ -0,0 +1,8 @@
+package com.bruhdows.minitext.processor;
+
+import java.util.concurrent.CompletableFuture;
+
+@FunctionalInterface
+public interface AsyncComponentProcessor {
+    CompletableFuture<String> process(String tag, String content, Object context);
+}
@@ -1,13 +1,21 @@
 package com.bruhdows.minitext.processor;
 
+import com.bruhdows.minitext.CompiledTemplate;
 import com.bruhdows.minitext.MiniText;
-import com.bruhdows.minitext.component.ComponentBuilder;
+import com.bruhdows.minitext.component.ComponentSink;
+import com.bruhdows.minitext.component.LegacyTextWriter;
 import com.bruhdows.minitext.component.SegmentParser;
+import com.bruhdows.minitext.component.SegmentSink;
 import com.bruhdows.minitext.component.TextSegment;
-import com.bruhdows.minitext.formatter.FormatterType;
+import com.bruhdows.minitext.metrics.MiniTextMetrics;
+import com.bruhdows.minitext.metrics.TimedSegmentSink;
 import net.kyori.adventure.text.Component;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 public class TextProcessor {
     private final MiniText miniText;
@@ -19,22 +27,97 @@ public class TextProcessor {
     }
     
     public Component process(String input) {
-        if (miniText.getEnabledFormatters().contains(FormatterType.CUSTOM)) {
-            input = miniText.getBracketFormatter().processCustomComponents(input, context);
+        return buildComponent(input, null);
+    }
+
+    public String processLegacy(String input) {
+        LegacyTextWriter writer = new LegacyTextWriter(miniText.getComponentBuilder());
+        if (!miniText.isMetricsEnabled()) {
+            miniText.getSegmentParser().parse(input, context, writer);
+            return writer.toString();
         }
-        
-        if (miniText.getEnabledFormatters().contains(FormatterType.LEGACY)) {
-            input = miniText.getLegacyFormatter().processLegacy(input);
+
+        TimedSegmentSink timed = parseTimed(input, writer, null);
+        long start = System.nanoTime();
+        String result = writer.toString();
+        miniText.getMetrics().recordStage(MiniTextMetrics.Stage.LEGACY_WRITE, timed.nanos() + System.nanoTime() - start);
+        return result;
+    }
+
+    public void process(String input, SegmentSink sink) {
+        if (!miniText.isMetricsEnabled()) {
+            miniText.getSegmentParser().parse(input, context, sink);
+            return;
         }
-        
-        if (miniText.getEnabledFormatters().contains(FormatterType.HEX)) {
-            input = miniText.getHexFormatter().processHex(input);
+        parseTimed(input, sink, null);
+    }
+
+    private Component buildComponent(String input, List<String> resolvedTags) {
+        ComponentSink sink = new ComponentSink(miniText.getComponentBuilder());
+        if (!miniText.isMetricsEnabled()) {
+            miniText.getSegmentParser().parse(input, context, sink, resolvedTags);
+            return sink.build();
         }
-        
-        SegmentParser parser = new SegmentParser(miniText);
-        List<TextSegment> segments = parser.parseSegments(input);
-        
-        ComponentBuilder builder = new ComponentBuilder();
-        return builder.buildComponent(segments);
+
+        TimedSegmentSink timed = parseTimed(input, sink, resolvedTags);
+        long start = System.nanoTime();
+        Component component = sink.build();
+        MiniTextMetrics metrics = miniText.getMetrics();
+        metrics.recordStage(MiniTextMetrics.Stage.BUILD, timed.nanos() + System.nanoTime() - start);
+        metrics.recordComponents(sink.componentCount());
+        return component;
+    }
+
+    private TimedSegmentSink parseTimed(String input, SegmentSink sink, List<String> resolvedTags) {
+        TimedSegmentSink timed = new TimedSegmentSink(sink);
+        long start = System.nanoTime();
+        miniText.getSegmentParser().parse(input, context, timed, resolvedTags);
+        MiniTextMetrics metrics = miniText.getMetrics();
+        metrics.recordStage(MiniTextMetrics.Stage.PARSE, System.nanoTime() - start - timed.nanos());
+        metrics.recordSegments(timed.segments());
+        return timed;
+    }
+
+    public CompletableFuture<Component> processAsync(String input, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> resolveCustomTags(input), executor)
+                .thenCompose(Function.identity())
+                .thenApplyAsync(resolvedTags -> buildComponent(input, resolvedTags), executor);
+    }
+
+    // Processors run once per occurrence, matching the synchronous path
+    private CompletableFuture<List<String>> resolveCustomTags(String input) {
+        List<SegmentParser.CustomTag> tags = miniText.getSegmentParser().collectCustomTags(input);
+        if (tags.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        List<CompletableFuture<String>> pending = new ArrayList<>(tags.size());
+        for (SegmentParser.CustomTag tag : tags) {
+            pending.add(miniText.getBracketFormatter().processCustomTagAsync(tag.tag(), tag.content(), context));
+        }
+        return CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    List<String> resolved = new ArrayList<>(pending.size());
+                    for (CompletableFuture<String> value : pending) {
+                        resolved.add(value.join());
+                    }
+                    return resolved;
+                });
+    }
+
+    public CompiledTemplate compile(String input) {
+        if (!miniText.isMetricsEnabled()) {
+            return new CompiledTemplate(miniText, input, miniText.getSegmentParser().parseTemplate(input));
+        }
+
+        MiniTextMetrics metrics = miniText.getMetrics();
+        long start = System.nanoTime();
+        List<TextSegment> segments = miniText.getSegmentParser().parseTemplate(input);
+        long parsed = System.nanoTime();
+        CompiledTemplate template = new CompiledTemplate(miniText, input, segments);
+        metrics.recordStage(MiniTextMetrics.Stage.PARSE, parsed - start);
+        metrics.recordStage(MiniTextMetrics.Stage.BUILD, System.nanoTime() - parsed);
+        metrics.recordSegments(segments.size());
+        return template;
     }
 }
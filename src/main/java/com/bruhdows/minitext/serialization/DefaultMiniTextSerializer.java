@@ -1,27 +1,39 @@
 package com.bruhdows.minitext.serialization;
 
 import com.bruhdows.minitext.MiniText;
+import com.bruhdows.minitext.metrics.MiniTextMetrics;
+import com.bruhdows.minitext.util.IdentityCache;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.Style;
 import net.kyori.adventure.text.format.TextColor;
 import net.kyori.adventure.text.format.TextDecoration;
 
-import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 
 public class DefaultMiniTextSerializer implements MiniTextSerializer {
-    
+
+    private static final TextDecoration[] DECORATIONS = TextDecoration.values();
+
     private final MiniText miniText;
-    private final ComponentAnalyzer analyzer;
     private final SerializationHelper helper;
+    private final IdentityCache<Component, String> cache;
 
     public DefaultMiniTextSerializer(MiniText miniText) {
         this(miniText, false, true);
     }
     
     public DefaultMiniTextSerializer(MiniText miniText, boolean useShortHex, boolean preferNamedColors) {
+        this(miniText, useShortHex, preferNamedColors, null);
+    }
+
+    public DefaultMiniTextSerializer(MiniText miniText, boolean useShortHex, boolean preferNamedColors,
+                                     IdentityCache<Component, String> cache) {
         this.miniText = miniText;
-        this.analyzer = new ComponentAnalyzer();
         this.helper = new SerializationHelper(useShortHex, preferNamedColors);
+        this.cache = cache;
     }
     
     @Override
@@ -36,107 +48,134 @@ public class DefaultMiniTextSerializer implements MiniTextSerializer {
     
     @Override
     public String serialize(Component component) {
-        List<ComponentAnalyzer.FormattedSegment> segments = analyzer.analyze(component);
-        return buildMiniTextString(segments);
-    }
-    
-    private String buildMiniTextString(List<ComponentAnalyzer.FormattedSegment> segments) {
-        StringBuilder result = new StringBuilder();
-        ComponentAnalyzer.FormattedSegment lastSegment = new ComponentAnalyzer.FormattedSegment();
-        
-        for (ComponentAnalyzer.FormattedSegment segment : segments) {
-            appendFormattingChanges(result, lastSegment, segment);
-            result.append(segment.text);
-            lastSegment = segment;
+        if (!miniText.isMetricsEnabled()) {
+            return serializeCached(component);
         }
-        
-        return result.toString();
+
+        MiniTextMetrics metrics = miniText.getMetrics();
+        long start = System.nanoTime();
+        String result = serializeCached(component);
+        metrics.recordStage(MiniTextMetrics.Stage.SERIALIZE, System.nanoTime() - start);
+        metrics.recordCall(MiniTextMetrics.Operation.SERIALIZE, result.length());
+        return result;
     }
 
-    private void appendFormattingChanges(
-            StringBuilder sb,
-            ComponentAnalyzer.FormattedSegment last,
-            ComponentAnalyzer.FormattedSegment current
-    ) {
-        if (needsReset(last, current)) {
-            sb.append("[reset]");
-            last = new ComponentAnalyzer.FormattedSegment();
+    private String serializeCached(Component component) {
+        if (cache == null) {
+            return write(component);
         }
 
-        boolean colorChanged = !colorEquals(last.color, current.color);
-        if (colorChanged) {
-            sb.append(helper.serializeColor(current.color));
+        String cached = cache.getIfPresent(component);
+        if (cached != null) {
+            recordCache(true);
+            return cached;
         }
+        recordCache(false);
+        String result = write(component);
+        cache.put(component, result);
+        return result;
+    }
 
-        for (TextDecoration deco : TextDecoration.values()) {
-            TextDecoration.State lastState =
-                    last.decorations.getOrDefault(deco, TextDecoration.State.NOT_SET);
-            TextDecoration.State currState =
-                    current.decorations.getOrDefault(deco, TextDecoration.State.NOT_SET);
-
-            if (currState == TextDecoration.State.TRUE
-                    && (colorChanged || lastState != currState)) {
-                sb.append(helper.serializeDecorations(Map.of(deco,
-                        TextDecoration.State.TRUE)));
+    private void recordCache(boolean hit) {
+        if (miniText.isMetricsEnabled()) {
+            if (hit) {
+                miniText.getMetrics().recordCacheHit(MiniTextMetrics.Cache.SERIALIZATION);
+            } else {
+                miniText.getMetrics().recordCacheMiss(MiniTextMetrics.Cache.SERIALIZATION);
             }
         }
+    }
 
-        if (!hoverEquals(last.hoverEvent, current.hoverEvent)) {
-            sb.append(helper.serializeHoverEvent(current.hoverEvent));
-        }
-        if (!clickEquals(last.clickEvent, current.clickEvent)) {
-            sb.append(helper.serializeClickEvent(current.clickEvent));
+    // Stores the normalised output up front, so a cached lookup always matches an uncached write
+    public void warm(Component component) {
+        if (cache != null) {
+            cache.put(component, write(component));
         }
     }
-    
-    private boolean needsReset(ComponentAnalyzer.FormattedSegment last, ComponentAnalyzer.FormattedSegment current) {
-        int lastComplexity = getFormattingComplexity(last);
-        int currentComplexity = getFormattingComplexity(current);
-        
-        return lastComplexity > currentComplexity + 1;
+
+    public IdentityCache<Component, String> cache() {
+        return cache;
     }
-    
-    private int getFormattingComplexity(ComponentAnalyzer.FormattedSegment segment) {
-        int complexity = 0;
-        if (segment.color != null) complexity++;
-        complexity += (int) segment.decorations.values().stream()
-            .filter(state -> state == TextDecoration.State.TRUE)
-            .count();
-        if (segment.hoverEvent != null) complexity++;
-        if (segment.clickEvent != null) complexity++;
-        return complexity;
+
+    private String write(Component component) {
+        Writer writer = new Writer();
+        writer.visit(component);
+        return writer.output.toString();
     }
-    
-    private String getNewDecorations(ComponentAnalyzer.FormattedSegment last, ComponentAnalyzer.FormattedSegment current) {
-        StringBuilder sb = new StringBuilder();
-        
-        for (TextDecoration decoration : TextDecoration.values()) {
-            TextDecoration.State lastState = last.decorations.getOrDefault(decoration, TextDecoration.State.NOT_SET);
-            TextDecoration.State currentState = current.decorations.getOrDefault(decoration, TextDecoration.State.NOT_SET);
-            
-            if (lastState != currentState && currentState == TextDecoration.State.TRUE) {
-                sb.append(helper.serializeDecorations(Map.of(decoration, TextDecoration.State.TRUE)));
+
+    private static int decorationBits(Style style) {
+        int bits = 0;
+        for (TextDecoration decoration : DECORATIONS) {
+            if (style.decoration(decoration) == TextDecoration.State.TRUE) {
+                bits |= 1 << decoration.ordinal();
             }
         }
-        
-        return sb.toString();
-    }
-    
-    private boolean colorEquals(TextColor a, TextColor b) {
-        if (a == null && b == null) return true;
-        if (a == null || b == null) return false;
-        return a.equals(b);
+        return bits;
     }
-    
-    private boolean hoverEquals(Object a, Object b) {
-        if (a == null && b == null) return true;
-        if (a == null || b == null) return false;
-        return a.equals(b);
+
+    private static int complexity(TextColor color, int decorations, HoverEvent<?> hoverEvent, ClickEvent clickEvent) {
+        int complexity = Integer.bitCount(decorations);
+        if (color != null) complexity++;
+        if (hoverEvent != null) complexity++;
+        if (clickEvent != null) complexity++;
+        return complexity;
     }
-    
-    private boolean clickEquals(Object a, Object b) {
-        if (a == null && b == null) return true;
-        if (a == null || b == null) return false;
-        return a.equals(b);
+
+    private final class Writer {
+        private final StringBuilder output = new StringBuilder();
+        private TextColor lastColor;
+        private int lastDecorations;
+        private HoverEvent<?> lastHoverEvent;
+        private ClickEvent lastClickEvent;
+
+        private void visit(Component component) {
+            if (component instanceof TextComponent text && !text.content().isEmpty()) {
+                append(component.style(), text.content());
+            }
+            for (Component child : component.children()) {
+                visit(child);
+            }
+        }
+
+        private void append(Style style, String content) {
+            TextColor color = style.color();
+            int decorations = decorationBits(style);
+            HoverEvent<?> hoverEvent = style.hoverEvent();
+            ClickEvent clickEvent = style.clickEvent();
+
+            if (complexity(lastColor, lastDecorations, lastHoverEvent, lastClickEvent)
+                    > complexity(color, decorations, hoverEvent, clickEvent) + 1) {
+                output.append("[reset]");
+                lastColor = null;
+                lastDecorations = 0;
+                lastHoverEvent = null;
+                lastClickEvent = null;
+            }
+
+            boolean colorChanged = !Objects.equals(lastColor, color);
+            if (colorChanged) {
+                helper.appendColor(output, color);
+            }
+
+            int added = colorChanged ? decorations : decorations & ~lastDecorations;
+            for (TextDecoration decoration : DECORATIONS) {
+                if ((added & (1 << decoration.ordinal())) != 0) {
+                    helper.appendDecoration(output, decoration);
+                }
+            }
+
+            if (!Objects.equals(lastHoverEvent, hoverEvent)) {
+                helper.appendHoverEvent(output, hoverEvent);
+            }
+            if (!Objects.equals(lastClickEvent, clickEvent)) {
+                helper.appendClickEvent(output, clickEvent);
+            }
+
+            output.append(content);
+            lastColor = color;
+            lastDecorations = decorations;
+            lastHoverEvent = hoverEvent;
+            lastClickEvent = clickEvent;
+        }
     }
 }
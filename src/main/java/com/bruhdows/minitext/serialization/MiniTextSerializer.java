@@ -2,8 +2,15 @@ package com.bruhdows.minitext.serialization;
 
 import net.kyori.adventure.text.Component;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 public interface MiniTextSerializer {
     Component deserialize(String input);
     Component deserialize(String input, Object context);
     String serialize(Component component);
+
+    default CompletableFuture<String> serializeAsync(Component component, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> serialize(component), executor);
+    }
 }
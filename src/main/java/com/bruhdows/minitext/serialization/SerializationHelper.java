@@ -14,6 +14,7 @@ public class SerializationHelper {
 
     private static final Map<NamedTextColor, String> NAMED_COLOR_MAP = new HashMap<>();
     private static final Map<TextDecoration, String> DECORATION_MAP = new HashMap<>();
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
 
     private final boolean useShortHex;
     private final boolean preferNamedColors;
@@ -60,71 +61,81 @@ public class SerializationHelper {
     }
 
     public String serializeColor(TextColor color) {
-        if (color == null) return "";
+        StringBuilder sb = new StringBuilder();
+        appendColor(sb, color);
+        return sb.toString();
+    }
+
+    public void appendColor(StringBuilder sb, TextColor color) {
+        if (color == null) return;
 
         if (preferNamedColors && color instanceof NamedTextColor) {
             String namedColor = NAMED_COLOR_MAP.get(color);
             if (namedColor != null) {
-                return "[" + namedColor + "]";
+                sb.append('[').append(namedColor).append(']');
+                return;
             }
         }
 
-        String hexString = color.asHexString();
-
-        if (useShortHex) {
-            String shortHex = tryConvertToShortHex(hexString);
-            if (shortHex != null) {
-                return "&#" + shortHex;
-            }
+        int rgb = color.value();
+        sb.append("&#");
+        if (useShortHex && isShortHex(rgb)) {
+            sb.append(HEX_DIGITS[(rgb >> 20) & 0xF]).append(HEX_DIGITS[(rgb >> 12) & 0xF]).append(HEX_DIGITS[(rgb >> 4) & 0xF]);
+            return;
         }
-
-        return "&#" + hexString.substring(1);
-    }
-
-    private String tryConvertToShortHex(String hexString) {
-        if (hexString.length() != 7) return null;
-
-        String hex = hexString.substring(1);
-
-        if (hex.charAt(0) == hex.charAt(1) &&
-                hex.charAt(2) == hex.charAt(3) &&
-                hex.charAt(4) == hex.charAt(5)) {
-
-            return "" + hex.charAt(0) + hex.charAt(2) + hex.charAt(4);
+        for (int shift = 20; shift >= 0; shift -= 4) {
+            sb.append(HEX_DIGITS[(rgb >> shift) & 0xF]);
         }
+    }
 
-        return null;
+    private static boolean isShortHex(int rgb) {
+        return ((rgb >> 20) & 0xF) == ((rgb >> 16) & 0xF)
+                && ((rgb >> 12) & 0xF) == ((rgb >> 8) & 0xF)
+                && ((rgb >> 4) & 0xF) == (rgb & 0xF);
     }
 
     public String serializeDecorations(Map<TextDecoration, TextDecoration.State> decorations) {
         StringBuilder sb = new StringBuilder();
         for (Map.Entry<TextDecoration, TextDecoration.State> entry : decorations.entrySet()) {
             if (entry.getValue() == TextDecoration.State.TRUE) {
-                String decoration = DECORATION_MAP.get(entry.getKey());
-                if (decoration != null) {
-                    sb.append("[").append(decoration).append("]");
-                }
+                appendDecoration(sb, entry.getKey());
             }
         }
         return sb.toString();
     }
 
+    public void appendDecoration(StringBuilder sb, TextDecoration decoration) {
+        String tag = DECORATION_MAP.get(decoration);
+        if (tag != null) {
+            sb.append('[').append(tag).append(']');
+        }
+    }
+
     public String serializeHoverEvent(HoverEvent<?> hoverEvent) {
-        if (hoverEvent == null) return "";
+        StringBuilder sb = new StringBuilder();
+        appendHoverEvent(sb, hoverEvent);
+        return sb.toString();
+    }
+
+    public void appendHoverEvent(StringBuilder sb, HoverEvent<?> hoverEvent) {
+        if (hoverEvent == null) return;
 
         if (hoverEvent.action() == HoverEvent.Action.SHOW_TEXT) {
             Object value = hoverEvent.value();
             if (value instanceof Component) {
-                String text = value.toString().replaceAll("'", "'");
-                return "[hover:show_text:'" + text + "']";
+                sb.append("[hover:show_text:'").append(value).append("']");
             }
         }
-
-        return "";
     }
 
     public String serializeClickEvent(ClickEvent clickEvent) {
-        if (clickEvent == null) return "";
+        StringBuilder sb = new StringBuilder();
+        appendClickEvent(sb, clickEvent);
+        return sb.toString();
+    }
+
+    public void appendClickEvent(StringBuilder sb, ClickEvent clickEvent) {
+        if (clickEvent == null) return;
 
         String action;
         switch (clickEvent.action()) {
@@ -141,10 +152,9 @@ public class SerializationHelper {
                 action = "copy_to_clipboard";
                 break;
             default:
-                return "";
+                return;
         }
 
-        String value = clickEvent.value().replaceAll("'", "'");
-        return "[click:" + action + ":'" + value + "']";
+        sb.append("[click:").append(action).append(":'").append(clickEvent.value()).append("']");
     }
 }
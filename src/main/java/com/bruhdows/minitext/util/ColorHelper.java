@@ -5,13 +5,35 @@ import net.kyori.adventure.text.format.TextColor;
 import net.kyori.adventure.text.format.TextDecoration;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class ColorHelper {
     private static volatile Map<String, NamedTextColor> NAMED_COLORS;
     private static volatile Map<String, TextDecoration> NAMED_DECORATIONS;
 
-    private final Map<String, TextColor> colorCache = new ConcurrentHashMap<>(64);
+    private static final int DEFAULT_CACHE_SIZE = 256;
+
+    private final LruCache<String, TextColor> colorCache;
+    private final LruCache<String, List<TextColor>> gradientCache;
+
+    public ColorHelper() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public ColorHelper(int maximumCacheSize) {
+        if (maximumCacheSize <= 0) {
+            throw new IllegalArgumentException("Maximum cache size must be positive");
+        }
+        this.colorCache = new LruCache<>(maximumCacheSize);
+        this.gradientCache = new LruCache<>(maximumCacheSize);
+    }
+
+    public static Map<String, NamedTextColor> namedColors() {
+        return getNamedColors();
+    }
+
+    public static Map<String, TextDecoration> namedDecorations() {
+        return getNamedDecorations();
+    }
 
     private static Map<String, NamedTextColor> getNamedColors() {
         if (NAMED_COLORS == null) {
@@ -75,47 +97,44 @@ public class ColorHelper {
         return decorations;
     }
 
-    public NamedTextColor getNamedColor(String name) {
-        return getNamedColors().get(name.toLowerCase());
+    public TextColor parseHexFromTag(String tag) {
+        return parseHexFromTag(tag, 0, tag.length());
     }
 
-    public TextDecoration getDecoration(String name) {
-        return getNamedDecorations().get(name.toLowerCase());
+    public TextColor parseHexFromTag(CharSequence tag, int start, int end) {
+        if (start < end && tag.charAt(start) == '#') {
+            start++;
+        }
+        int rgb = decodeHex(tag, start, end);
+        return rgb >= 0 ? TextColorPool.color(rgb) : null;
     }
 
-    public TextColor parseHexFromTag(String tag) {
-        return colorCache.computeIfAbsent(tag, this::parseHexFromTagUncached);
-    }
-
-    private TextColor parseHexFromTagUncached(String tag) {
-        if (tag.startsWith("#")) {
-            if (tag.length() == 7) {
-                try {
-                    return TextColor.fromHexString(tag);
-                } catch (IllegalArgumentException ignored) {}
-            } else if (tag.length() == 4) {
-                try {
-                    String expanded = "#" + tag.charAt(1) + tag.charAt(1) +
-                            tag.charAt(2) + tag.charAt(2) +
-                            tag.charAt(3) + tag.charAt(3);
-                    return TextColor.fromHexString(expanded);
-                } catch (IllegalArgumentException ignored) {}
-            }
+    // Decodes exactly 6 or 3 hex digits into an RGB value, or returns -1
+    public static int decodeHex(CharSequence input, int start, int end) {
+        int length = end - start;
+        if (length != 6 && length != 3) {
+            return -1;
         }
-
-        if (tag.matches("[0-9a-fA-F]{6}")) {
-            try {
-                return TextColor.fromHexString("#" + tag);
-            } catch (IllegalArgumentException ignored) {}
+        int rgb = 0;
+        for (int i = start; i < end; i++) {
+            int digit = hexDigit(input.charAt(i));
+            if (digit < 0) {
+                return -1;
+            }
+            rgb = length == 6 ? (rgb << 4) | digit : (rgb << 8) | (digit << 4) | digit;
         }
+        return rgb;
+    }
 
-        if (tag.matches("[0-9a-fA-F]{3}")) {
-            try {
-                return TextColor.fromHexString("#" + expandShortHex(tag));
-            } catch (IllegalArgumentException ignored) {}
-        }
+    public static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+        if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+        return -1;
+    }
 
-        return null;
+    public List<TextColor> parseGradient(String argument) {
+        return gradientCache.get(argument, this::parseGradientUncached);
     }
 
     public List<TextColor> parseGradientColors(String[] colors) {
@@ -131,45 +150,22 @@ public class ColorHelper {
     }
 
     public TextColor parseColor(String color) {
-        return colorCache.computeIfAbsent(color, this::parseColorUncached);
+        return colorCache.get(color, this::parseColorUncached);
+    }
+
+    private List<TextColor> parseGradientUncached(String argument) {
+        String[] stops = argument.split(":");
+        return stops.length >= 2 ? List.copyOf(parseGradientColors(stops)) : List.of();
     }
 
     private TextColor parseColorUncached(String color) {
-        NamedTextColor namedColor = getNamedColors().get(color.toLowerCase());
+        NamedTextColor namedColor = getNamedColors().get(color);
+        if (namedColor == null) {
+            namedColor = getNamedColors().get(color.toLowerCase());
+        }
         if (namedColor != null) {
             return namedColor;
         }
-
-        if (color.startsWith("#")) {
-            try {
-                if (color.length() == 7) {
-                    return TextColor.fromHexString(color);
-                } else if (color.length() == 4) {
-                    return TextColor.fromHexString("#" + expandShortHex(color.substring(1)));
-                }
-            } catch (IllegalArgumentException ignored) {}
-        }
-
-        if (color.matches("[0-9a-fA-F]{6}")) {
-            try {
-                return TextColor.fromHexString("#" + color);
-            } catch (IllegalArgumentException ignored) {}
-        }
-
-        if (color.matches("[0-9a-fA-F]{3}")) {
-            try {
-                return TextColor.fromHexString("#" + expandShortHex(color));
-            } catch (IllegalArgumentException ignored) {}
-        }
-
-        return null;
-    }
-
-    private String expandShortHex(String shortHex) {
-        StringBuilder expanded = new StringBuilder(6);
-        for (char c : shortHex.toCharArray()) {
-            expanded.append(c).append(c);
-        }
-        return expanded.toString();
+        return parseHexFromTag(color, 0, color.length());
     }
 }
@@ -0,0 +1,142 @@
+package com.bruhdows.minitext.util;
+
+import net.kyori.adventure.text.format.TextColor;
+
+import java.util.List;
+
+public final class ColorTables {
+    private static final int MAX_CACHED_TABLES = 512;
+    private static final long MAX_CACHED_COLORS = 64 * 1024;
+
+    private static final LruCache<GradientKey, List<TextColor>> GRADIENTS =
+            new LruCache<>(MAX_CACHED_TABLES, MAX_CACHED_COLORS, List::size);
+    private static final LruCache<RainbowKey, List<TextColor>> RAINBOWS =
+            new LruCache<>(MAX_CACHED_TABLES, MAX_CACHED_COLORS, List::size);
+
+    private ColorTables() {}
+
+    public static List<TextColor> gradient(List<TextColor> stops, int length) {
+        return gradient(stops, length, 0, 1);
+    }
+
+    public static List<TextColor> gradient(List<TextColor> stops, int length, int frame, int frameCount) {
+        if (frame % frameCount == 0) {
+            frame = 0;
+            frameCount = 1;
+        }
+        GradientKey key = new GradientKey(List.copyOf(stops), length, frame, frameCount);
+        return GRADIENTS.get(key, ColorTables::computeGradient);
+    }
+
+    public static List<TextColor> rainbow(int length, int phase) {
+        return rainbow(length, phase, 0, 1);
+    }
+
+    public static List<TextColor> rainbow(int length, int phase, int frame, int frameCount) {
+        if (frame % frameCount == 0) {
+            frame = 0;
+            frameCount = 1;
+        }
+        return RAINBOWS.get(new RainbowKey(length, phase, frame, frameCount), ColorTables::computeRainbow);
+    }
+
+    private static List<TextColor> computeGradient(GradientKey key) {
+        TextColor[] table = new TextColor[key.length()];
+        float offset = 2f * key.frame() / key.frameCount();
+        for (int i = 0; i < table.length; i++) {
+            float progress = (float) i / Math.max(1, key.length() - 1);
+            if (offset != 0f) {
+                progress = (progress + offset) % 2f;
+                if (progress > 1f) {
+                    progress = 2f - progress;
+                }
+            }
+            table[i] = TextColorPool.color(interpolate(key.stops(), progress));
+        }
+        return List.of(table);
+    }
+
+    private static List<TextColor> computeRainbow(RainbowKey key) {
+        TextColor[] table = new TextColor[key.length()];
+        // Fractional shift so animations with more frames than characters still move every frame
+        float shift = (float) key.frame() * key.length() / key.frameCount();
+        for (int i = 0; i < table.length; i++) {
+            float hue = ((i + key.phase() + shift) / key.length()) * 360f;
+            table[i] = TextColorPool.color(hsbToRgb(hue / 360f, 1f, 1f));
+        }
+        return List.of(table);
+    }
+
+    private static int interpolate(List<TextColor> colors, float progress) {
+        if (colors.size() == 1) return colors.get(0).value();
+
+        float segment = progress * (colors.size() - 1);
+        int index = Math.min((int) Math.floor(segment), colors.size() - 2);
+        float localProgress = segment - index;
+
+        TextColor color1 = colors.get(index);
+        TextColor color2 = colors.get(index + 1);
+
+        int r = (int) (color1.red() + (color2.red() - color1.red()) * localProgress);
+        int g = (int) (color1.green() + (color2.green() - color1.green()) * localProgress);
+        int b = (int) (color1.blue() + (color2.blue() - color1.blue()) * localProgress);
+
+        return (r << 16) | (g << 8) | b;
+    }
+
+    public static int hsbToRgb(float hue, float saturation, float brightness) {
+        int r = 0;
+        int g = 0;
+        int b = 0;
+
+        if (saturation == 0) {
+            r = g = b = (int) (brightness * 255.0f + 0.5f);
+        } else {
+            float h = (hue - (float) Math.floor(hue)) * 6.0f;
+            float f = h - (float) Math.floor(h);
+            float p = brightness * (1.0f - saturation);
+            float q = brightness * (1.0f - saturation * f);
+            float t = brightness * (1.0f - (saturation * (1.0f - f)));
+
+            switch ((int) h) {
+                case 0 -> {
+                    r = (int) (brightness * 255.0f + 0.5f);
+                    g = (int) (t * 255.0f + 0.5f);
+                    b = (int) (p * 255.0f + 0.5f);
+                }
+                case 1 -> {
+                    r = (int) (q * 255.0f + 0.5f);
+                    g = (int) (brightness * 255.0f + 0.5f);
+                    b = (int) (p * 255.0f + 0.5f);
+                }
+                case 2 -> {
+                    r = (int) (p * 255.0f + 0.5f);
+                    g = (int) (brightness * 255.0f + 0.5f);
+                    b = (int) (t * 255.0f + 0.5f);
+                }
+                case 3 -> {
+                    r = (int) (p * 255.0f + 0.5f);
+                    g = (int) (q * 255.0f + 0.5f);
+                    b = (int) (brightness * 255.0f + 0.5f);
+                }
+                case 4 -> {
+                    r = (int) (t * 255.0f + 0.5f);
+                    g = (int) (p * 255.0f + 0.5f);
+                    b = (int) (brightness * 255.0f + 0.5f);
+                }
+                case 5 -> {
+                    r = (int) (brightness * 255.0f + 0.5f);
+                    g = (int) (p * 255.0f + 0.5f);
+                    b = (int) (q * 255.0f + 0.5f);
+                }
+                default -> {
+                }
+            }
+        }
+        return (r << 16) | (g << 8) | b;
+    }
+
+    private record GradientKey(List<TextColor> stops, int length, int frame, int frameCount) {}
+
+    private record RainbowKey(int length, int phase, int frame, int frameCount) {}
+}
@@ -0,0 +1,70 @@
+package com.bruhdows.minitext.util;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+public class IdentityCache<K, V> {
+    private final Entry<K, V>[] entries;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public IdentityCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        int size = Math.min(maximumSize, 1 << 30);
+        int capacity = Integer.highestOneBit(size);
+        if (capacity < size) {
+            capacity <<= 1;
+        }
+        this.entries = (Entry<K, V>[]) new Entry<?, ?>[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public V getIfPresent(K key) {
+        Entry<K, V> entry = entries[index(key)];
+        if (entry != null && entry.get() == key) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(K key, V value) {
+        entries[index(key)] = new Entry<>(key, value);
+    }
+
+    public void invalidateAll() {
+        Arrays.fill(entries, null);
+    }
+
+    public int maximumSize() {
+        return entries.length;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    private int index(K key) {
+        int hash = System.identityHashCode(key);
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private static final class Entry<K, V> extends WeakReference<K> {
+        private final V value;
+
+        private Entry(K key, V value) {
+            super(key);
+            this.value = value;
+        }
+    }
+}
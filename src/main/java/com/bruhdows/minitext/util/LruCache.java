@@ -0,0 +1,173 @@
+package com.bruhdows.minitext.util;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+// Approximate LRU: hits are lock-free and only mark the entry as referenced,
+// writes take a lock and evict with a clock sweep that gives referenced entries a second chance
+public class LruCache<K, V> {
+    private final int maximumSize;
+    private final long expireAfterWriteNanos;
+    private final long maximumWeight;
+    private final ToIntFunction<? super V> weigher;
+    private final Map<K, Entry<K, V>> entries;
+    private final ArrayDeque<Entry<K, V>> clock = new ArrayDeque<>();
+    private long totalWeight;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public LruCache(int maximumSize) {
+        this(maximumSize, Duration.ZERO);
+    }
+
+    public LruCache(int maximumSize, Duration expireAfterWrite) {
+        this(maximumSize, expireAfterWrite, Long.MAX_VALUE, value -> 0);
+    }
+
+    public LruCache(int maximumSize, long maximumWeight, ToIntFunction<? super V> weigher) {
+        this(maximumSize, Duration.ZERO, maximumWeight, weigher);
+    }
+
+    public LruCache(int maximumSize, Duration expireAfterWrite, long maximumWeight, ToIntFunction<? super V> weigher) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("Maximum weight must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.expireAfterWriteNanos = expireAfterWrite.toNanos();
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.entries = new ConcurrentHashMap<>(Math.min(maximumSize, 256));
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        V value = loader.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    public V getIfPresent(K key) {
+        Entry<K, V> entry = entries.get(key);
+        if (entry != null) {
+            if (!isExpired(entry)) {
+                if (!entry.referenced) {
+                    entry.referenced = true;
+                }
+                hits.increment();
+                return entry.value;
+            }
+            synchronized (clock) {
+                if (entries.remove(key, entry)) {
+                    discard(entry);
+                }
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(K key, V value) {
+        Entry<K, V> entry = new Entry<>(key, value, System.nanoTime(), weigher.applyAsInt(value));
+        synchronized (clock) {
+            Entry<K, V> previous = entries.put(key, entry);
+            if (previous != null) {
+                discard(previous);
+            }
+            totalWeight += entry.weight;
+            clock.addLast(entry);
+            evict(entry);
+            // Replaced and expired entries stay in the clock until the sweep reaches them
+            if (clock.size() > 2 * entries.size() + 16) {
+                clock.removeIf(candidate -> candidate.discarded);
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (clock) {
+            entries.clear();
+            clock.clear();
+            totalWeight = 0;
+        }
+    }
+
+    public long totalWeight() {
+        synchronized (clock) {
+            return totalWeight;
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int maximumSize() {
+        return maximumSize;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    // Always keeps the newest entry, so a single oversized value still gets cached
+    private void evict(Entry<K, V> newest) {
+        // Concurrent hits can set reference bits mid-sweep, so second chances stop after two full turns
+        int secondChances = 2 * clock.size();
+        while (entries.size() > 1 && (entries.size() > maximumSize || totalWeight > maximumWeight)) {
+            Entry<K, V> candidate = clock.pollFirst();
+            if (candidate.discarded) {
+                continue;
+            }
+            if (candidate == newest || (candidate.referenced && secondChances-- > 0)) {
+                candidate.referenced = false;
+                clock.addLast(candidate);
+                continue;
+            }
+            entries.remove(candidate.key, candidate);
+            discard(candidate);
+        }
+    }
+
+    private void discard(Entry<K, V> entry) {
+        entry.discarded = true;
+        totalWeight -= entry.weight;
+    }
+
+    private boolean isExpired(Entry<K, V> entry) {
+        return expireAfterWriteNanos > 0 && System.nanoTime() - entry.writtenAt > expireAfterWriteNanos;
+    }
+
+    private static final class Entry<K, V> {
+        private final K key;
+        private final V value;
+        private final long writtenAt;
+        private final int weight;
+        private volatile boolean referenced;
+        private boolean discarded;
+
+        private Entry(K key, V value, long writtenAt, int weight) {
+            this.key = key;
+            this.value = value;
+            this.writtenAt = writtenAt;
+            this.weight = weight;
+        }
+    }
+}
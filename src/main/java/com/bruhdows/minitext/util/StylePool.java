@@ -0,0 +1,74 @@
+package com.bruhdows.minitext.util;
+
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+
+import java.util.Objects;
+
+public final class StylePool {
+    private static final int SIZE = 1024;
+    private static final TextDecoration[] DECORATIONS = TextDecoration.values();
+    private static final Entry[] POOL = new Entry[SIZE];
+
+    private StylePool() {}
+
+    private static long key(TextColor color, int decorations) {
+        long key = decorations & 0xFF;
+        if (color != null) {
+            key |= (1L << 32 | color.value()) << 8;
+        }
+        return key;
+    }
+
+    public static Style style(TextColor color, int decorations, HoverEvent<?> hoverEvent, ClickEvent clickEvent) {
+        if (color == null && decorations == 0 && hoverEvent == null && clickEvent == null) {
+            return Style.empty();
+        }
+
+        long key = key(color, decorations);
+        int hash = Long.hashCode(key * 0x9E3779B97F4A7C15L)
+                ^ System.identityHashCode(hoverEvent) * 31
+                ^ System.identityHashCode(clickEvent);
+        int index = (hash ^ (hash >>> 16)) & (SIZE - 1);
+
+        Entry cached = POOL[index];
+        if (cached != null && cached.matches(key, color, hoverEvent, clickEvent)) {
+            return cached.style();
+        }
+
+        Style style = build(color, decorations, hoverEvent, clickEvent);
+        POOL[index] = new Entry(key, color, hoverEvent, clickEvent, style);
+        return style;
+    }
+
+    private static Style build(TextColor color, int decorations, HoverEvent<?> hoverEvent, ClickEvent clickEvent) {
+        Style.Builder builder = Style.style();
+        if (color != null) {
+            builder.color(color);
+        }
+        for (TextDecoration decoration : DECORATIONS) {
+            if ((decorations & (1 << decoration.ordinal())) != 0) {
+                builder.decoration(decoration, true);
+            }
+        }
+        if (hoverEvent != null) {
+            builder.hoverEvent(hoverEvent);
+        }
+        if (clickEvent != null) {
+            builder.clickEvent(clickEvent);
+        }
+        return builder.build();
+    }
+
+    private record Entry(long key, TextColor color, HoverEvent<?> hoverEvent, ClickEvent clickEvent, Style style) {
+        boolean matches(long key, TextColor color, HoverEvent<?> hoverEvent, ClickEvent clickEvent) {
+            return this.key == key
+                    && Objects.equals(this.color, color)
+                    && this.hoverEvent == hoverEvent
+                    && this.clickEvent == clickEvent;
+        }
+    }
+}
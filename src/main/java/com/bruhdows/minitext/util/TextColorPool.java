@@ -0,0 +1,24 @@
+package com.bruhdows.minitext.util;
+
+import net.kyori.adventure.text.format.TextColor;
+
+public final class TextColorPool {
+    private static final int SIZE = 4096;
+    private static final TextColor[] POOL = new TextColor[SIZE];
+
+    private TextColorPool() {}
+
+    public static TextColor color(int rgb) {
+        rgb &= 0xFFFFFF;
+        int index = (rgb ^ (rgb >>> 12)) & (SIZE - 1);
+
+        TextColor cached = POOL[index];
+        if (cached != null && cached.value() == rgb) {
+            return cached;
+        }
+
+        TextColor color = TextColor.color(rgb);
+        POOL[index] = color;
+        return color;
+    }
+}
@@ -0,0 +1,81 @@
+package com.bruhdows.minitext;
+
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AsyncDeserializeTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void asyncResultsMatchSynchronousResults() throws Exception {
+        MiniText miniText = MarkupFuzz.builder()
+                .addAsyncProcessor("a", (tag, content, context) ->
+                        CompletableFuture.supplyAsync(() -> "[i]" + content + context, executor), true)
+                .build();
+        Random random = new Random(14);
+        for (String input : MarkupFuzz.inputs(random, 1000)) {
+            String withAsync = random.nextBoolean() ? input + "[a:x&c]" + input : input;
+            assertEquals(miniText.deserialize(withAsync, "!").component(),
+                    miniText.deserializeAsync(withAsync, "!", executor).get().component(), withAsync);
+        }
+    }
+
+    @Test
+    void asyncProcessorsRunOncePerOccurrence() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        MiniText miniText = MiniText.builder()
+                .addAsyncProcessor("count", (tag, content, context) ->
+                        CompletableFuture.completedFuture(content + calls.incrementAndGet()))
+                .build();
+
+        Component component = miniText.deserializeAsync("[count:a] [count:a] [count:b]", null, executor).get().component();
+        assertEquals(3, calls.get());
+        assertEquals("a1 a2 b3", plain(component));
+    }
+
+    @Test
+    void nullFuturesAreRejected() {
+        MiniText miniText = MiniText.builder()
+                .addAsyncProcessor("none", (tag, content, context) -> null)
+                .build();
+
+        ExecutionException async = assertThrows(ExecutionException.class,
+                () -> miniText.deserializeAsync("[none]", null, executor).get());
+        assertInstanceOf(NullPointerException.class, async.getCause());
+        assertThrows(NullPointerException.class, () -> miniText.deserialize("[none]").component());
+    }
+
+    @Test
+    void asyncSerializeMatchesSerialize() throws Exception {
+        MiniText miniText = MarkupFuzz.builder().build();
+        for (String input : MarkupFuzz.inputs(new Random(41), 500)) {
+            Component component = miniText.deserialize(input).component();
+            assertEquals(miniText.serialize(component), miniText.serializeAsync(component, executor).get(), input);
+        }
+    }
+
+    private static String plain(Component component) {
+        StringBuilder builder = new StringBuilder();
+        for (String character : StyledText.of(component)) {
+            builder.append(character.charAt(0));
+        }
+        return builder.toString();
+    }
+}
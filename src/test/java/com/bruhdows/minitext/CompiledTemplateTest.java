@@ -0,0 +1,98 @@
+package com.bruhdows.minitext;
+
+import net.kyori.adventure.text.Component;
+import com.bruhdows.minitext.metrics.MiniTextMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompiledTemplateTest {
+
+    @Test
+    void slotsRunProcessorsOnEveryRender() {
+        AtomicInteger calls = new AtomicInteger();
+        MiniText miniText = MiniText.builder()
+                .addCustomProcessor("player", (tag, content, context) -> {
+                    calls.incrementAndGet();
+                    return String.valueOf(context);
+                })
+                .build();
+        CompiledTemplate template = miniText.compile("[red]Hi [player]!");
+
+        assertFalse(template.isStatic());
+        assertEquals(StyledText.of(miniText.deserialize("[red]Hi Steve!").component()),
+                StyledText.of(template.render("Steve").component()));
+        assertEquals(StyledText.of(miniText.deserialize("[red]Hi Alex!").component()),
+                StyledText.of(template.render("Alex").component()));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void slotValuesAreTextUnlessMarkupIsAllowed() {
+        MiniText miniText = MiniText.builder()
+                .addCustomProcessor("name", (tag, content, context) -> "[b]" + context)
+                .build();
+        assertEquals(StyledText.of(Component.text("[b]Steve")),
+                StyledText.of(miniText.compile("[name]").render("Steve").component()));
+    }
+
+    @Test
+    void staticTemplatesAreRenderedOnce() {
+        CompiledTemplate template = MiniText.miniText().compile("[gradient:red:blue]Static");
+        assertTrue(template.isStatic());
+        assertSame(template.render(), template.render("ignored"));
+    }
+
+    @Test
+    void staticTemplatesMatchDirectParsing() {
+        MiniText miniText = MiniText.builder().templateCache(64).build();
+        MiniText direct = MiniText.miniText();
+        for (String input : MarkupFuzz.inputs(new Random(11), 5000)) {
+            assertEquals(direct.deserialize(input).component(), miniText.deserialize(input).component(), input);
+        }
+    }
+
+    @Test
+    void markupSlotsMatchDirectParsing() {
+        MiniText miniText = MiniText.builder()
+                .addCustomProcessor("inner", (tag, content, context) -> "inner:" + context)
+                .addCustomProcessor("outer", (tag, content, context) -> "[blue]" + context + "[inner][b]!", true)
+                .build();
+        for (String input : new String[] {"[outer]", "[red]A [outer]", "[gradient:red:gold]Hi [outer:x]"}) {
+            assertEquals(StyledText.of(miniText.deserialize(input, "ctx").component()),
+                    StyledText.of(miniText.compile(input).render("ctx").component()), input);
+        }
+    }
+
+    @Test
+    void inputsWithCustomTagsAreRememberedInTheTemplateCache() {
+        AtomicInteger hits = new AtomicInteger();
+        MiniText miniText = MiniText.builder()
+                .templateCache(16)
+                .addCustomProcessor("player", (tag, content, context) -> String.valueOf(context))
+                .metrics(new MiniTextMetrics() {
+                    @Override
+                    public void recordCacheHit(Cache cache) {
+                        hits.incrementAndGet();
+                    }
+                })
+                .build();
+        MiniText direct = MiniText.builder()
+                .addCustomProcessor("player", (tag, content, context) -> String.valueOf(context))
+                .build();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(direct.deserialize("[red]Hi [player]", "Steve").component(),
+                    miniText.deserialize("[red]Hi [player]", "Steve").component());
+        }
+        assertEquals(2, hits.get());
+        assertEquals(1, miniText.getTemplateCache().size());
+        assertFalse(miniText.compile("[red]Hi [player]").isStatic());
+    }
+}
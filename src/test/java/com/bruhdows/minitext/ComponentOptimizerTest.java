@@ -0,0 +1,63 @@
+package com.bruhdows.minitext;
+
+import com.bruhdows.minitext.component.ComponentOptimizer;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ComponentOptimizerTest {
+
+    @Test
+    void optimizedTreesKeepEveryCharacterStyle() {
+        MiniText plain = MarkupFuzz.builder().build();
+        MiniText optimized = MarkupFuzz.builder().optimizeComponents(true).build();
+        for (String input : MarkupFuzz.inputs(new Random(17), 3000)) {
+            Component expected = plain.deserialize(input).component();
+            Component actual = optimized.deserialize(input).component();
+            assertEquals(StyledText.of(expected), StyledText.of(actual), input);
+            assertEquals(StyledText.of(plain.compile(input).render().component()),
+                    StyledText.of(optimized.compile(input).render().component()), input);
+            assertTrue(nodes(actual) <= nodes(expected), input);
+        }
+    }
+
+    @Test
+    void adjacentRunsWithEqualStylesAreMerged() {
+        Component tree = Component.text()
+                .append(Component.text("a", NamedTextColor.RED))
+                .append(Component.text(""))
+                .append(Component.text().append(Component.text("b", NamedTextColor.RED)))
+                .build();
+
+        assertEquals(Component.text("ab", NamedTextColor.RED), ComponentOptimizer.optimize(tree));
+    }
+
+    @Test
+    void commonStyleIsHoistedOntoTheParent() {
+        Component tree = Component.text()
+                .append(Component.text("a", NamedTextColor.RED).decorate(TextDecoration.BOLD))
+                .append(Component.text("b", NamedTextColor.RED).decorate(TextDecoration.BOLD).append(Component.text("c")))
+                .build();
+
+        Component optimized = ComponentOptimizer.optimize(tree);
+        assertEquals(StyledText.of(tree), StyledText.of(optimized));
+        assertEquals(Component.text().color(NamedTextColor.RED).decorate(TextDecoration.BOLD)
+                .append(Component.text("a"))
+                .append(Component.text("b").append(Component.text("c")))
+                .build(), optimized);
+    }
+
+    private static int nodes(Component component) {
+        int count = 1;
+        for (Component child : component.children()) {
+            count += nodes(child);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,63 @@
+package com.bruhdows.minitext;
+
+import com.bruhdows.minitext.component.PoolingStrategy;
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int INPUTS = 2000;
+    private static final int ROUNDS = 3;
+
+    @ParameterizedTest
+    @EnumSource(PoolingStrategy.class)
+    void concurrentResultsMatchSingleThreaded(PoolingStrategy pooling) throws Exception {
+        List<String> inputs = MarkupFuzz.inputs(new Random(pooling.ordinal()), INPUTS);
+
+        MiniText reference = MarkupFuzz.builder().pooling(pooling).build();
+        List<Component> components = new ArrayList<>(INPUTS);
+        List<String> legacy = new ArrayList<>(INPUTS);
+        for (String input : inputs) {
+            components.add(reference.deserialize(input).component());
+            legacy.add(reference.deserializeToLegacy(input));
+        }
+
+        // A tiny colour cache keeps the shared ColorHelper maps clearing while other threads read them
+        MiniText shared = MarkupFuzz.builder().pooling(pooling).colorCache(4).build();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> workers = new ArrayList<>(THREADS);
+            for (int thread = 0; thread < THREADS; thread++) {
+                int offset = thread * INPUTS / THREADS;
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < INPUTS * ROUNDS; i++) {
+                        int index = (offset + i) % INPUTS;
+                        String input = inputs.get(index);
+                        assertEquals(components.get(index), shared.deserialize(input).component(), input);
+                        assertEquals(legacy.get(index), shared.deserializeToLegacy(input), input);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.bruhdows.minitext;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DeserializeAllTest {
+
+    @Test
+    void listResultsMatchSequentialDeserializeInOrder() {
+        MiniText miniText = MarkupFuzz.builder().build();
+        List<String> inputs = MarkupFuzz.inputs(new Random(13), 1000);
+        // Repeats exercise the de-duplication of identical inputs
+        inputs.addAll(inputs.subList(0, 200));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<FormattedText> results = miniText.deserializeAll(inputs, executor);
+            assertEquals(inputs.size(), results.size());
+            for (int i = 0; i < inputs.size(); i++) {
+                String input = inputs.get(i);
+                assertEquals(miniText.deserialize(input).component(), results.get(i).component(), input);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void mapResultsKeepKeysAndIterationOrder() {
+        MiniText miniText = MarkupFuzz.builder().build();
+        List<String> inputs = MarkupFuzz.inputs(new Random(31), 300);
+        Map<Integer, String> byKey = new LinkedHashMap<>();
+        for (int i = 0; i < inputs.size(); i++) {
+            byKey.put(inputs.size() - i, inputs.get(i));
+        }
+
+        Map<Integer, FormattedText> results = miniText.deserializeAll(byKey);
+        assertEquals(new ArrayList<>(byKey.keySet()), new ArrayList<>(results.keySet()));
+        for (Map.Entry<Integer, String> entry : byKey.entrySet()) {
+            assertEquals(miniText.deserialize(entry.getValue()).component(),
+                    results.get(entry.getKey()).component(), entry.getValue());
+        }
+    }
+
+    @Test
+    void identicalInputsAreParsedOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        MiniText miniText = MiniText.builder()
+                .addCustomProcessor("count", (tag, content, context) -> String.valueOf(calls.incrementAndGet()))
+                .build();
+
+        List<FormattedText> results = miniText.deserializeAll(List.of("[count]", "[count]", "[count]"));
+        assertEquals(1, calls.get());
+        assertEquals(results.get(0).component(), results.get(2).component());
+    }
+
+    @Test
+    void processorFailuresArePropagated() {
+        MiniText miniText = MiniText.builder()
+                .addCustomProcessor("fail", (tag, content, context) -> {
+                    throw new IllegalStateException("boom");
+                })
+                .build();
+
+        assertThrows(IllegalStateException.class, () -> miniText.deserializeAll(List.of("a[b]", "[fail]")));
+    }
+}
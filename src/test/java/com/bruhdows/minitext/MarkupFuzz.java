@@ -0,0 +1,38 @@
+package com.bruhdows.minitext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class MarkupFuzz {
+    static final String[] TAGS = {
+            "[red]", "[RED]", "[Red:x]", "[b]", "[BOLD]", "[n]", "[br]", "[nl:x]", "[reset]", "[Reset]",
+            "[gradient:red:blue]", "[gradient:#f00:00ff00:GOLD]", "[gradient: red : #AbC :x]", "[gradient:red]",
+            "[rainbow]", "[rainbow:3]", "[hover:show_text:'h&ci']", "[click:run_command:'/x']", "[click:bad:x]",
+            "[#ff0000]", "[#12345]", "[##abc]", "[#GGGGGG]", "[1a2b3c:x]", "[#F0A]", "[abc]", "[ABCDEF]",
+            "[grey]", "[dark_yellow]", "[st]", "[i:x]", "[:]", "[a:b:c]", "[foo]", "[p]", "[P:z]", "[p:&cx]", "[m]"
+    };
+    static final String[] TEXT = {"\\[", "&c", "&l", "&r", "&#ff00aa", "&#0af", "[", "]", "a", "bc", " ", "words here"};
+
+    private MarkupFuzz() {}
+
+    static MiniText.Builder builder() {
+        return MiniText.builder()
+                .addCustomProcessor("p", (tag, content, context) -> "Bob[b]" + content)
+                .addCustomProcessor("m", (tag, content, context) -> "[blue]m", true);
+    }
+
+    static List<String> inputs(Random random, int count) {
+        List<String> inputs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder input = new StringBuilder();
+            int tokens = random.nextInt(12);
+            for (int j = 0; j < tokens; j++) {
+                String[] pool = random.nextBoolean() ? TAGS : TEXT;
+                input.append(pool[random.nextInt(pool.length)]);
+            }
+            inputs.add(input.toString());
+        }
+        return inputs;
+    }
+}
@@ -0,0 +1,68 @@
+package com.bruhdows.minitext;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ParseSessionTest {
+    private static final String[] TOKENS = {
+            "[gradient:red:blue]", "[gradient:#f00:gold:00ffaa]", "[rainbow]", "[rainbow:3]", "[red]", "[b]",
+            "[reset]", "[br]", "[hover:show_text:'hi']", "[click:run_command:'/x']", "[#12ab34]",
+            "§x§f§f§0§0§a§a", "&#ff00aa", "&#0af", "&c", "&l", "&r", "§a", "\\[", "[", "]",
+            "word", "two words", " ", "é"
+    };
+
+    @Test
+    void randomEditsMatchFullReparse() {
+        MiniText miniText = MiniText.miniText();
+        Random random = new Random(18);
+        for (int session = 0; session < 300; session++) {
+            String text = randomText(random, random.nextInt(12));
+            ParseSession parseSession = miniText.session(text);
+            for (int edit = 0; edit < 100; edit++) {
+                int offset = random.nextInt(text.length() + 1);
+                int removed = random.nextInt(Math.min(text.length() - offset, 6) + 1);
+                String inserted = randomFragment(random);
+                text = text.substring(0, offset) + inserted + text.substring(offset + removed);
+
+                parseSession.edit(offset, removed, inserted);
+                assertEquals(text, parseSession.text());
+                assertEquals(StyledText.of(miniText.deserialize(text).component()),
+                        StyledText.of(parseSession.component()), text);
+            }
+        }
+    }
+
+    @Test
+    void setTextMatchesFullReparse() {
+        MiniText miniText = MiniText.miniText();
+        Random random = new Random(81);
+        ParseSession parseSession = miniText.session("");
+        for (int n = 0; n < 2000; n++) {
+            String text = randomText(random, random.nextInt(10));
+            assertEquals(StyledText.of(miniText.deserialize(text).component()),
+                    StyledText.of(parseSession.setText(text)), text);
+        }
+    }
+
+    private static String randomText(Random random, int tokens) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < tokens; i++) {
+            builder.append(TOKENS[random.nextInt(TOKENS.length)]);
+        }
+        return builder.toString();
+    }
+
+    // Whole tokens or a piece of one, so edits split and complete tags and §x sequences
+    private static String randomFragment(Random random) {
+        String token = TOKENS[random.nextInt(TOKENS.length)];
+        if (random.nextBoolean()) {
+            return token;
+        }
+        int start = random.nextInt(token.length() + 1);
+        int end = start + random.nextInt(token.length() - start + 1);
+        return token.substring(start, end);
+    }
+}
@@ -0,0 +1,63 @@
+package com.bruhdows.minitext;
+
+import com.bruhdows.minitext.component.VisibleText;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlainTextTest {
+    private static final int INPUTS = 5000;
+
+    @Test
+    void stripTagsMatchesRenderedText() {
+        MiniText miniText = MarkupFuzz.builder().build();
+        for (String input : MarkupFuzz.inputs(new Random(7), INPUTS)) {
+            assertEquals(plainText(miniText.deserialize(input).component()), miniText.stripTags(input), input);
+        }
+    }
+
+    @Test
+    void visibleTextAgreesWithStripTags() {
+        MiniText miniText = MarkupFuzz.builder().build();
+        for (String input : MarkupFuzz.inputs(new Random(21), INPUTS)) {
+            String stripped = miniText.stripTags(input);
+            VisibleText visible = miniText.visibleText(input);
+            assertEquals(stripped, visible.text(), input);
+            assertEquals(stripped.length(), miniText.visibleLength(input), input);
+            for (int i = 1; i <= visible.length(); i++) {
+                assertTrue(visible.sourceIndex(i - 1) <= visible.sourceIndex(i), input);
+            }
+            assertTrue(visible.sourceIndex(visible.length()) <= input.length(), input);
+        }
+    }
+
+    @Test
+    void sourceIndicesPointPastTags() {
+        VisibleText visible = MiniText.miniText().visibleText("[red]ab&lc");
+        assertEquals("abc", visible.text());
+        assertEquals(5, visible.sourceIndex(0));
+        assertEquals(6, visible.sourceIndex(1));
+        assertEquals(9, visible.sourceIndex(2));
+        assertEquals(10, visible.sourceIndex(3));
+    }
+
+    private static String plainText(Component component) {
+        StringBuilder builder = new StringBuilder();
+        appendPlainText(component, builder);
+        return builder.toString();
+    }
+
+    private static void appendPlainText(Component component, StringBuilder builder) {
+        if (component instanceof TextComponent text) {
+            builder.append(text.content());
+        }
+        for (Component child : component.children()) {
+            appendPlainText(child, builder);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.bruhdows.minitext;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextDecoration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Flattens a component tree to one entry per character with its effective style,
+// so trees that differ only in structure compare equal
+final class StyledText {
+    private StyledText() {}
+
+    static List<String> of(Component component) {
+        List<String> characters = new ArrayList<>();
+        append(component, Style.empty(), characters);
+        return characters;
+    }
+
+    private static void append(Component component, Style inherited, List<String> characters) {
+        Style style = inherit(inherited, component.style());
+        if (component instanceof TextComponent text) {
+            String content = text.content();
+            for (int i = 0; i < content.length(); i++) {
+                characters.add(content.charAt(i) + " " + describe(style));
+            }
+        }
+        for (Component child : component.children()) {
+            append(child, style, characters);
+        }
+    }
+
+    private static Style inherit(Style parent, Style child) {
+        Style.Builder builder = parent.toBuilder();
+        if (child.color() != null) {
+            builder.color(child.color());
+        }
+        for (TextDecoration decoration : TextDecoration.values()) {
+            if (child.decoration(decoration) != TextDecoration.State.NOT_SET) {
+                builder.decoration(decoration, child.decoration(decoration));
+            }
+        }
+        if (child.clickEvent() != null) {
+            builder.clickEvent(child.clickEvent());
+        }
+        if (child.hoverEvent() != null) {
+            builder.hoverEvent(child.hoverEvent());
+        }
+        return builder.build();
+    }
+
+    private static String describe(Style style) {
+        StringBuilder builder = new StringBuilder();
+        builder.append(style.color() == null ? "-" : style.color().asHexString());
+        for (TextDecoration decoration : TextDecoration.values()) {
+            if (style.decoration(decoration) == TextDecoration.State.TRUE) {
+                builder.append(' ').append(decoration);
+            }
+        }
+        if (style.clickEvent() != null) {
+            builder.append(' ').append(style.clickEvent());
+        }
+        if (style.hoverEvent() != null) {
+            builder.append(' ').append(style.hoverEvent());
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package com.bruhdows.minitext;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TagResolutionTest {
+    private static final int INPUTS = 5000;
+    private static final Set<String> NEWLINE_TAGS = Set.of("[n]", "[nl]", "[br]");
+
+    @Test
+    void tagNamesAreCaseInsensitive() {
+        MiniText miniText = MarkupFuzz.builder().build();
+        Random random = new Random(23);
+        for (int n = 0; n < INPUTS; n++) {
+            StringBuilder lower = new StringBuilder();
+            StringBuilder mixed = new StringBuilder();
+            int tokens = random.nextInt(10);
+            for (int i = 0; i < tokens; i++) {
+                String tag = MarkupFuzz.TAGS[random.nextInt(MarkupFuzz.TAGS.length)];
+                int nameEnd = tag.indexOf(':') > 0 ? tag.indexOf(':') : tag.length() - 1;
+                String name = tag.substring(1, nameEnd);
+                lower.append('[').append(name.toLowerCase(Locale.ROOT)).append(tag, nameEnd, tag.length());
+                // Newline tags have always matched in lower case only
+                String mixedName = NEWLINE_TAGS.contains(tag) ? name : randomCase(random, name);
+                mixed.append('[').append(mixedName).append(tag, nameEnd, tag.length());
+                String text = MarkupFuzz.TEXT[random.nextInt(MarkupFuzz.TEXT.length)];
+                lower.append(text);
+                mixed.append(text);
+            }
+            assertEquals(miniText.deserialize(lower.toString()).component(),
+                    miniText.deserialize(mixed.toString()).component(), mixed.toString());
+        }
+    }
+
+    @Test
+    void customProcessorsOverrideBuiltinTags() {
+        MiniText miniText = MiniText.builder()
+                .addCustomProcessor("red", (tag, content, context) -> "R" + content)
+                .build();
+        assertEquals("Rx y", miniText.stripTags("[RED:x] y"));
+    }
+
+    @Test
+    void unregisteredNamesFallBackToHex() {
+        MiniText miniText = MiniText.miniText();
+        assertEquals(miniText.deserialize("[#aabbcc]x").component(), miniText.deserialize("[AbC]x").component());
+    }
+
+    private static String randomCase(Random random, String name) {
+        StringBuilder builder = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            builder.append(random.nextBoolean() ? Character.toUpperCase(c) : Character.toLowerCase(c));
+        }
+        return builder.toString();
+    }
+}
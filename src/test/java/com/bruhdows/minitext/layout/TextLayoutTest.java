@@ -0,0 +1,113 @@
+package com.bruhdows.minitext.layout;
+
+import com.bruhdows.minitext.MiniText;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextLayoutTest {
+    private static final String[] WORDS = {
+            "[red]", "[b]", "[reset]", "[gradient:red:blue]", "&l", "&r", " ", " ", "\n", "a", "word", "il!",
+            "WWWWWWWWWWWW", "[i]x"
+    };
+
+    private final MiniText miniText = MiniText.miniText();
+    private final TextLayout layout = miniText.layout();
+
+    @Test
+    void widthUsesGlyphAdvances() {
+        assertEquals(18, layout.width("abc"));
+        assertEquals(21, layout.width("[b]abc"));
+        assertEquals(5, layout.width("il"));
+        assertEquals(18, layout.width("aa\nabc\na"));
+        assertEquals(0, layout.width(""));
+    }
+
+    @Test
+    void wrapBreaksBetweenWordsAndTrimsTrailingSpaces() {
+        assertEquals(List.of("aaa bbb", "ccc"), text(layout.wrap("aaa bbb ccc", 40)));
+        assertEquals(List.of("aaa", "bbb ccc"), text(layout.wrap("aaa   bbb ccc", 40)));
+        assertEquals(List.of("aaaaa", "aaaaa"), text(layout.wrap("aaaaaaaaaa", 30)));
+        assertEquals(List.of("a", "", "b"), text(layout.wrap("a\n\nb", 100)));
+    }
+
+    @Test
+    void alignmentPadsWithSpaces() {
+        assertEquals(List.of("    ab"), text(layout.center("ab", 40)));
+        assertEquals(List.of("       ab"), text(layout.layout("ab", 40, Alignment.RIGHT)));
+        assertEquals(List.of("ab"), text(layout.layout("ab", 40, Alignment.LEFT)));
+        assertThrows(IllegalArgumentException.class, () -> layout.wrap("ab", 0));
+    }
+
+    @Test
+    void wrappedLinesKeepTheirStyles() {
+        List<Component> lines = layout.wrap("[red]aaa [b]bbb", 30);
+        assertEquals(2, lines.size());
+        assertEquals(Component.text("aaa", NamedTextColor.RED), single(lines.get(0)));
+        assertEquals(Component.text("bbb", NamedTextColor.RED).decorate(TextDecoration.BOLD), single(lines.get(1)));
+    }
+
+    @Test
+    void randomLayoutsFitAndKeepEveryVisibleCharacter() {
+        Random random = new Random(22);
+        for (int n = 0; n < 2000; n++) {
+            StringBuilder input = new StringBuilder();
+            int tokens = random.nextInt(20);
+            for (int i = 0; i < tokens; i++) {
+                input.append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            int maxWidth = 8 + random.nextInt(120);
+
+            StringBuilder laidOut = new StringBuilder();
+            for (Component line : layout.wrap(input.toString(), maxWidth)) {
+                assertTrue(width(line, false) <= maxWidth, input + " @ " + maxWidth);
+                laidOut.append(plain(line));
+            }
+            assertEquals(miniText.stripTags(input.toString()).replaceAll("\\s", ""),
+                    laidOut.toString().replaceAll("\\s", ""), input.toString());
+        }
+    }
+
+    private static Component single(Component line) {
+        return line.children().isEmpty() ? line : line.children().get(0);
+    }
+
+    private static List<String> text(List<Component> lines) {
+        return lines.stream().map(TextLayoutTest::plain).toList();
+    }
+
+    private static String plain(Component component) {
+        StringBuilder builder = new StringBuilder();
+        if (component instanceof TextComponent text) {
+            builder.append(text.content());
+        }
+        for (Component child : component.children()) {
+            builder.append(plain(child));
+        }
+        return builder.toString();
+    }
+
+    private static int width(Component component, boolean inheritedBold) {
+        TextDecoration.State state = component.style().decoration(TextDecoration.BOLD);
+        boolean bold = state == TextDecoration.State.NOT_SET ? inheritedBold : state == TextDecoration.State.TRUE;
+        int width = 0;
+        if (component instanceof TextComponent text) {
+            for (int i = 0; i < text.content().length(); i++) {
+                width += GlyphWidths.advance(text.content().charAt(i), bold);
+            }
+        }
+        for (Component child : component.children()) {
+            width += width(child, bold);
+        }
+        return width;
+    }
+}
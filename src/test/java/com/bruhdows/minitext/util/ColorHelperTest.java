@@ -0,0 +1,59 @@
+package com.bruhdows.minitext.util;
+
+import net.kyori.adventure.text.format.TextColor;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ColorHelperTest {
+    private static final Pattern HEX = Pattern.compile("#?([0-9a-fA-F]{6}|[0-9a-fA-F]{3})");
+    private static final String ALPHABET = "#0a9Ffgz+- ٣";
+
+    @Test
+    void decodeHexMatchesRegexDecoding() {
+        ColorHelper colorHelper = new ColorHelper();
+        Random random = new Random(24);
+        for (int n = 0; n < 150_000; n++) {
+            StringBuilder builder = new StringBuilder();
+            int length = random.nextInt(9);
+            for (int i = 0; i < length; i++) {
+                builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            String input = builder.toString();
+            assertEquals(regexDecode(input), colorHelper.parseHexFromTag(input), input);
+        }
+    }
+
+    @Test
+    void decodeHexReadsRanges() {
+        assertEquals(0x12ab34, ColorHelper.decodeHex("x[#12ab34]", 3, 9));
+        assertEquals(0xaabbcc, ColorHelper.decodeHex("abc", 0, 3));
+        assertEquals(-1, ColorHelper.decodeHex("+12345", 0, 6));
+        assertEquals(-1, ColorHelper.decodeHex("abcd", 0, 4));
+    }
+
+    @Test
+    void rejectsSignsAndNonAsciiDigits() {
+        ColorHelper colorHelper = new ColorHelper();
+        assertNull(colorHelper.parseHexFromTag("#+fff"));
+        assertNull(colorHelper.parseHexFromTag("-12345"));
+        assertNull(colorHelper.parseHexFromTag("٣٣٣"));
+    }
+
+    private static TextColor regexDecode(String input) {
+        Matcher matcher = HEX.matcher(input);
+        if (!matcher.matches()) {
+            return null;
+        }
+        String hex = matcher.group(1);
+        if (hex.length() == 3) {
+            hex = "" + hex.charAt(0) + hex.charAt(0) + hex.charAt(1) + hex.charAt(1) + hex.charAt(2) + hex.charAt(2);
+        }
+        return TextColor.color(Integer.parseInt(hex, 16));
+    }
+}